@@ -18,6 +18,24 @@ public class Constants {
     public static final IndexingMode DEFAULT_INDEXINGPOLICY_MODE = IndexingMode.CONSISTENT;
     public static final String DEFAULT_REPOSITORY_IMPLEMENT_POSTFIX = "Impl";
     public static final int DEFAULT_TIME_TO_LIVE = -1; // Indicates never expire
+    public static final int DEFAULT_WRITE_BEHIND_FLUSH_SIZE = 100;
+    public static final long DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS = 1000;
+    public static final int DEFAULT_WRITE_BEHIND_MAX_BUFFER_SIZE = 10000;
+    public static final long DEFAULT_DOCUMENT_CACHE_TIME_TO_LIVE_SECONDS = 60;
+    public static final long DEFAULT_QUERY_CACHE_TIME_TO_LIVE_SECONDS = 30;
+
+    public static final String METRIC_SKIPPED_WRITES = "spring.data.cosmosdb.writes.skipped";
+    public static final String METRIC_BATCH_LATENCY = "spring.data.cosmosdb.batch.latency";
+    public static final String METRIC_BATCH_QUEUED = "spring.data.cosmosdb.batch.queued";
+    public static final String METRIC_CACHE_HITS = "spring.data.cosmosdb.cache.hits";
+    public static final String METRIC_CACHE_MISSES = "spring.data.cosmosdb.cache.misses";
+    public static final String METRIC_CACHE_EVICTIONS = "spring.data.cosmosdb.cache.evictions";
+    public static final String METRIC_CACHE_REVALIDATIONS = "spring.data.cosmosdb.cache.revalidations";
+    public static final String METRIC_QUERY_CACHE_HITS = "spring.data.cosmosdb.query.cache.hits";
+    public static final String METRIC_QUERY_CACHE_MISSES = "spring.data.cosmosdb.query.cache.misses";
+    public static final String METRIC_COALESCED_READS = "spring.data.cosmosdb.reads.coalesced";
+    public static final String METRIC_TAG_COLLECTION = "collection";
+    public static final String METRIC_TAG_OPERATION = "operation";
 
     public static final String ID_PROPERTY_NAME = "id";
 
@@ -5,10 +5,14 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.common;
 
+import com.azure.data.cosmos.AccessCondition;
+import com.azure.data.cosmos.AccessConditionType;
+import com.azure.data.cosmos.CosmosClientException;
 import com.azure.data.cosmos.CosmosResponse;
 import com.azure.data.cosmos.CosmosResponseDiagnostics;
 import com.azure.data.cosmos.FeedResponse;
 import com.azure.data.cosmos.FeedResponseDiagnostics;
+import com.azure.data.cosmos.internal.HttpConstants;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.spring.data.cosmosdb.core.ResponseDiagnostics;
 import com.microsoft.azure.spring.data.cosmosdb.core.ResponseDiagnosticsProcessor;
@@ -16,8 +20,10 @@ import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory
 import com.microsoft.azure.spring.data.cosmosdb.exception.ConfigurationException;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
 
 import java.io.IOException;
+import java.time.Duration;
 
 @Slf4j
 public class CosmosdbUtils {
@@ -58,4 +64,101 @@ public class CosmosdbUtils {
         //  Process response diagnostics
         responseDiagnosticsProcessor.processResponseDiagnostics(responseDiagnostics);
     }
+
+    /**
+     * Build the access condition which compares the etag of a document with the given one.
+     *
+     * @param type the comparison
+     * @param etag the etag
+     * @return the access condition
+     */
+    public static AccessCondition getAccessCondition(AccessConditionType type, String etag) {
+        final AccessCondition accessCondition = new AccessCondition();
+        accessCondition.type(type);
+        accessCondition.condition(etag);
+
+        return accessCondition;
+    }
+
+    /**
+     * Check whether the response reports that a document still has the etag of an If-None-Match condition.
+     *
+     * @param response the response
+     * @return whether the status code of the response is 304
+     */
+    public static boolean isNotModified(CosmosResponse<?> response) {
+        return response.statusCode() == HttpConstants.StatusCodes.NOT_MODIFIED;
+    }
+
+    /**
+     * Check whether the error reports that a document still has the etag of an If-None-Match condition.
+     *
+     * @param throwable the error
+     * @return whether the status code of the error is 304
+     */
+    public static boolean isNotModified(Throwable throwable) {
+        return hasStatusCode(throwable, HttpConstants.StatusCodes.NOT_MODIFIED);
+    }
+
+    /**
+     * Check whether the error is caused by a document, container or database which does not exist.
+     *
+     * @param throwable the error
+     * @return whether the status code of the error is 404
+     */
+    public static boolean isNotFound(Throwable throwable) {
+        return hasStatusCode(throwable, HttpConstants.StatusCodes.NOTFOUND);
+    }
+
+    /**
+     * Check whether the error is caused by a resource which already exists.
+     *
+     * @param throwable the error
+     * @return whether the status code of the error is 409
+     */
+    public static boolean isConflict(Throwable throwable) {
+        return hasStatusCode(throwable, HttpConstants.StatusCodes.CONFLICT);
+    }
+
+    /**
+     * Check whether the error is caused by an invalid request.
+     *
+     * @param throwable the error
+     * @return whether the status code of the error is 400
+     */
+    public static boolean isBadRequest(Throwable throwable) {
+        return hasStatusCode(throwable, HttpConstants.StatusCodes.BADREQUEST);
+    }
+
+    /**
+     * Check whether the error is caused by a request rate which is too large.
+     *
+     * @param throwable the error
+     * @return whether the status code of the error is 429
+     */
+    public static boolean isThrottled(Throwable throwable) {
+        return hasStatusCode(throwable, HttpConstants.StatusCodes.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Get how long to wait before retrying a throttled request.
+     *
+     * @param throwable the error
+     * @return the wait time which is suggested by the service, zero if there is none
+     */
+    public static Duration getRetryAfter(Throwable throwable) {
+        final Throwable cause = Exceptions.unwrap(throwable);
+
+        if (cause instanceof CosmosClientException) {
+            return Duration.ofMillis(Math.max(0, ((CosmosClientException) cause).retryAfterInMilliseconds()));
+        }
+
+        return Duration.ZERO;
+    }
+
+    private static boolean hasStatusCode(Throwable throwable, int statusCode) {
+        final Throwable cause = Exceptions.unwrap(throwable);
+
+        return cause instanceof CosmosClientException && ((CosmosClientException) cause).statusCode() == statusCode;
+    }
 }
@@ -9,8 +9,13 @@ import com.azure.data.cosmos.ConnectionPolicy;
 import com.azure.data.cosmos.ConsistencyLevel;
 import com.azure.data.cosmos.CosmosKeyCredential;
 import com.azure.data.cosmos.internal.RequestOptions;
+import com.microsoft.azure.spring.data.cosmosdb.core.DeleteAllStrategy;
+import com.microsoft.azure.spring.data.cosmosdb.core.DocumentCache;
 import com.microsoft.azure.spring.data.cosmosdb.core.ResponseDiagnosticsProcessor;
+import com.microsoft.azure.spring.data.cosmosdb.core.WriteResponseMode;
 import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,6 +46,100 @@ public class CosmosDBConfig {
     @Setter
     private boolean populateQueryMetrics;
 
+    /**
+     * Maximum number of ids in the IN query of a find by ids, larger id lists are split into several queries.
+     */
+    @Builder.Default
+    private int findByIdsChunkSize = 256;
+
+    /**
+     * Maximum number of find by ids queries executed concurrently.
+     */
+    @Builder.Default
+    private int findByIdsConcurrency = 4;
+
+    /**
+     * Maximum number of writes in flight during a bulk insert or upsert, or a delete by query.
+     */
+    @Builder.Default
+    private int bulkConcurrency = 16;
+
+    /**
+     * Maximum number of entities of one partition which are written atomically by a batch upsert.
+     */
+    @Builder.Default
+    private int batchWriteSize = 100;
+
+    /**
+     * Maximum number of retries of a throttled delete of a delete by query, on top of the retries of the SDK.
+     */
+    @Builder.Default
+    private int throttleRetryAttempts = 5;
+
+    /**
+     * How a delete of all documents of a collection, such as {@code deleteAll()} of a repository, empties it.
+     */
+    @Builder.Default
+    private DeleteAllStrategy deleteAllStrategy = DeleteAllStrategy.DELETE_DOCUMENTS;
+
+    /**
+     * How inserts and upserts build the returned entity, unless a call specifies it.
+     */
+    @Builder.Default
+    private WriteResponseMode writeResponseMode = WriteResponseMode.FULL;
+
+    /**
+     * Maximum number of document snapshots kept for {@code @DocumentPartialUpdate} classes.
+     */
+    @Builder.Default
+    private int partialUpdateSnapshotCapacity = 10000;
+
+    /**
+     * Maximum number of content hashes kept for {@code @DocumentSkipUnchangedWrites} classes.
+     */
+    @Builder.Default
+    private int contentHashCapacity = 10000;
+
+    /**
+     * Cache of the documents of {@code @DocumentCached} classes, null for a cache per template as configured below.
+     */
+    private DocumentCache documentCache;
+
+    /**
+     * Maximum number of documents in the in-memory cache of {@code @DocumentCached} classes.
+     */
+    @Builder.Default
+    private int documentCacheCapacity = 10000;
+
+    /**
+     * Bytes of memory outside of the Java heap which keep the serialized documents of the cache of
+     * {@code @DocumentCached} classes, instead of a heap cache of {@code documentCacheCapacity} documents. Zero keeps
+     * them on the heap.
+     */
+    @Builder.Default
+    private long documentCacheOffHeapBytes = 0;
+
+    /**
+     * Maximum weight of the query result cache of {@code @QueryCached} query methods, a result weighs as much as
+     * its number of documents and at least 1.
+     */
+    @Builder.Default
+    private int queryCacheMaxWeight = 10000;
+
+    /**
+     * Whether identical finds by id and queries which run concurrently on a template share one request, every
+     * caller still gets its own entities.
+     */
+    @Builder.Default
+    private boolean coalesceReads = true;
+
+    /**
+     * Registry of the template metrics, such as the number of skipped writes.
+     */
+    @Setter
+    @Builder.Default
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     public static CosmosDBConfigBuilder builder(String uri, CosmosKeyCredential cosmosKeyCredential,
                                                   String database) {
         return defaultBuilder()
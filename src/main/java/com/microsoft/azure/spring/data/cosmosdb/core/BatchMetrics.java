@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records the latency of batch operations, and the number of their items which wait for one of the limited slots
+ * of concurrent requests.
+ * <p>
+ * Both meters are tagged with the operation and the collection name.
+ */
+final class BatchMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<List<String>, AtomicInteger> queuedRequests = new ConcurrentHashMap<>();
+
+    BatchMetrics(@NonNull MeterRegistry registry) {
+        Assert.notNull(registry, "registry should not be null");
+
+        this.registry = registry;
+    }
+
+    /**
+     * Start a batch, whose items are queued until their requests are sent.
+     *
+     * @param operation      the operation name
+     * @param collectionName the collection name
+     * @param size           the number of items of the batch
+     * @return the batch, which should be stopped once it completes
+     */
+    Batch start(@NonNull String operation, @NonNull String collectionName, int size) {
+        final Tags tags = Tags.of(Constants.METRIC_TAG_OPERATION, operation,
+                Constants.METRIC_TAG_COLLECTION, collectionName);
+        final AtomicInteger queued = this.queuedRequests.computeIfAbsent(Arrays.asList(operation, collectionName),
+            key -> this.registry.gauge(Constants.METRIC_BATCH_QUEUED, tags, new AtomicInteger()));
+
+        return new Batch(Timer.builder(Constants.METRIC_BATCH_LATENCY)
+                .description("Latency of batch operations")
+                .tags(tags)
+                .register(this.registry), queued, size);
+    }
+
+    static final class Batch {
+
+        private final Timer timer;
+        private final AtomicInteger queued;
+        private final AtomicInteger remaining;
+        private final long startNanos = System.nanoTime();
+
+        private Batch(Timer timer, AtomicInteger queued, int size) {
+            this.timer = timer;
+            this.queued = queued;
+            this.remaining = new AtomicInteger(size);
+
+            queued.addAndGet(size);
+        }
+
+        /**
+         * Take the given number of items of the batch off the queue, once their requests are sent.
+         *
+         * @param count the number of items
+         */
+        void started(int count) {
+            final int previous = this.remaining.getAndUpdate(value -> Math.max(0, value - count));
+            this.queued.addAndGet(-Math.min(previous, count));
+        }
+
+        /**
+         * Record the latency of the batch, and take the items which were never sent off the queue.
+         */
+        void stop() {
+            this.timer.record(System.nanoTime() - this.startNanos, TimeUnit.NANOSECONDS);
+            this.queued.addAndGet(-this.remaining.getAndSet(0));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.getRetryAfter;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isThrottled;
+
+/**
+ * Writes many entities with a bounded number of concurrent requests.
+ * <p>
+ * Entities are grouped by partition key. Single writes interleave the groups, so that the requests in flight
+ * are spread over the partitions instead of queueing up on the one partition which happens to come first.
+ * Batch writes send each group, split into batches of a maximum size, with one request per batch. Streamed
+ * writes interleave the groups of each window of the stream.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BulkExecutor {
+
+    /**
+     * Write the given entities one by one.
+     *
+     * @param entities       the entities to write
+     * @param partitionKeyOf gets the partition key value of an entity, may return null
+     * @param concurrency    the maximum number of writes in flight
+     * @param writer         writes one entity and emits the written entity
+     * @param <T>            the domain type
+     * @return Mono of the result, which reports every entity as written or failed
+     */
+    static <T> Mono<BulkWriteResult<T>> execute(@NonNull Iterable<T> entities,
+                                                @NonNull Function<T, ?> partitionKeyOf, int concurrency,
+                                                @NonNull Function<T, Mono<T>> writer) {
+        Assert.isTrue(concurrency > 0, "concurrency should be larger than 0");
+
+        final List<Item<T>> items = interleave(group(entities, partitionKeyOf).values());
+
+        return Flux.fromIterable(items)
+                // Deferred, so that an entity which fails to map fails alone instead of the whole bulk write
+                .flatMap(item -> Mono.defer(() -> writer.apply(item.entity))
+                        .doOnNext(written -> item.written = written)
+                        .switchIfEmpty(Mono.fromRunnable(() -> item.written = item.entity))
+                        .onErrorResume(e -> Mono.fromRunnable(() -> item.cause = e)), concurrency)
+                .then(Mono.fromCallable(() -> toResult(items)));
+    }
+
+    /**
+     * Write the given entities in batches, which only contain entities of the same partition key.
+     *
+     * @param entities       the entities to write
+     * @param partitionKeyOf gets the partition key value of an entity, may return null
+     * @param batchSize      the maximum number of entities of one batch
+     * @param concurrency    the maximum number of batches in flight
+     * @param writer         writes one batch of the given partition key value and emits the written entities, in the
+     *                       order of the batch
+     * @param <T>            the domain type
+     * @param <K>            the partition key value type
+     * @return Mono of the result, which reports every entity as written or failed along with its batch
+     */
+    static <T, K> Mono<BulkWriteResult<T>> executeBatches(@NonNull Iterable<T> entities,
+                                                          @NonNull Function<T, K> partitionKeyOf, int batchSize,
+                                                          int concurrency,
+                                                          @NonNull BiFunction<K, List<T>, Mono<List<T>>> writer) {
+        Assert.isTrue(batchSize > 0, "batchSize should be larger than 0");
+        Assert.isTrue(concurrency > 0, "concurrency should be larger than 0");
+
+        final Map<K, Queue<Item<T>>> groups = group(entities, partitionKeyOf);
+        final List<Item<T>> items = new ArrayList<>();
+        final List<Tuple2<K, List<Item<T>>>> batches = new ArrayList<>();
+
+        groups.forEach((partitionKey, group) -> {
+            final List<Item<T>> groupItems = new ArrayList<>(group);
+            items.addAll(groupItems);
+
+            for (int i = 0; i < groupItems.size(); i += batchSize) {
+                batches.add(Tuples.of(partitionKey,
+                        groupItems.subList(i, Math.min(i + batchSize, groupItems.size()))));
+            }
+        });
+
+        return Flux.fromIterable(batches)
+                .flatMap(batch -> Mono.defer(() -> writer.apply(batch.getT1(), toEntities(batch.getT2())))
+                        .doOnNext(written -> setWritten(batch.getT2(), written))
+                        .onErrorResume(e -> Mono.fromRunnable(() -> batch.getT2().forEach(item -> item.cause = e))),
+                    concurrency)
+                .then(Mono.fromCallable(() -> toResult(items)));
+    }
+
+    /**
+     * Write a stream of entities one by one, without collecting the whole stream first.
+     *
+     * @param entities       the entities to write
+     * @param partitionKeyOf gets the partition key value of an entity, may return null
+     * @param windowSize     the number of entities which are interleaved by partition key at a time
+     * @param concurrency    the maximum number of writes in flight
+     * @param writer         writes one entity and emits the result of the write, if any
+     * @param <T>            the domain type
+     * @param <R>            the result type
+     * @return Flux of the write results in no particular order, which fails with the first failed write
+     */
+    static <T, R> Flux<R> executeStream(@NonNull Flux<T> entities, @NonNull Function<T, ?> partitionKeyOf,
+                                        int windowSize, int concurrency, @NonNull Function<T, Mono<R>> writer) {
+        Assert.isTrue(windowSize > 0, "windowSize should be larger than 0");
+        Assert.isTrue(concurrency > 0, "concurrency should be larger than 0");
+
+        return entities.buffer(windowSize)
+                .concatMapIterable(window -> toEntities(interleave(group(window, partitionKeyOf).values())), 1)
+                .flatMap(writer, concurrency);
+    }
+
+    /**
+     * Retry a request while it is throttled, after the wait time suggested by the service.
+     *
+     * @param request    the request
+     * @param maxRetries the maximum number of retries
+     * @param <T>        the response type
+     * @return Mono of the response, which fails with the last error once the retries are exhausted
+     */
+    static <T> Mono<T> retryThrottled(@NonNull Mono<T> request, int maxRetries) {
+        return request.retryWhen(errors -> errors.zipWith(Flux.range(1, Integer.MAX_VALUE))
+                .concatMap(error -> error.getT2() <= maxRetries && isThrottled(error.getT1())
+                        ? Mono.delay(getRetryAfter(error.getT1()))
+                        : Mono.error(error.getT1())));
+    }
+
+    private static <T, K> Map<K, Queue<Item<T>>> group(Iterable<T> entities, Function<T, K> partitionKeyOf) {
+        final Map<K, Queue<Item<T>>> groups = new LinkedHashMap<>();
+        int index = 0;
+
+        for (final T entity : entities) {
+            Assert.notNull(entity, "entity must not be null");
+
+            groups.computeIfAbsent(partitionKeyOf.apply(entity), key -> new ArrayDeque<>())
+                  .add(new Item<>(index++, entity));
+        }
+
+        return groups;
+    }
+
+    private static <T> List<Item<T>> interleave(Collection<Queue<Item<T>>> groups) {
+        final List<Item<T>> items = new ArrayList<>();
+
+        while (!groups.isEmpty()) {
+            final Iterator<Queue<Item<T>>> iterator = groups.iterator();
+
+            while (iterator.hasNext()) {
+                final Queue<Item<T>> group = iterator.next();
+                items.add(group.remove());
+
+                if (group.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        return items;
+    }
+
+    private static <T> List<T> toEntities(List<Item<T>> items) {
+        return items.stream().map(item -> item.entity).collect(Collectors.toList());
+    }
+
+    private static <T> void setWritten(List<Item<T>> items, List<T> written) {
+        Assert.isTrue(items.size() == written.size(), "each entity of the batch should be written");
+
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).written = written.get(i);
+        }
+    }
+
+    private static <T> BulkWriteResult<T> toResult(List<Item<T>> items) {
+        items.sort((a, b) -> Integer.compare(a.index, b.index));
+
+        final List<T> written = new ArrayList<>(items.size());
+        final List<BulkWriteResult.Failure<T>> failures = new ArrayList<>();
+
+        for (final Item<T> item : items) {
+            if (item.cause == null) {
+                written.add(item.written);
+            } else {
+                failures.add(new BulkWriteResult.Failure<>(item.entity, item.cause));
+            }
+        }
+
+        return new BulkWriteResult<>(written, failures);
+    }
+
+    private static final class Item<T> {
+        private final int index;
+        private final T entity;
+        private volatile T written;
+        private volatile Throwable cause;
+
+        private Item(int index, T entity) {
+            this.index = index;
+            this.entity = entity;
+        }
+    }
+}
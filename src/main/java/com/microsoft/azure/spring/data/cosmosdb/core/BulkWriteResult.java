@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk write, reported per entity.
+ *
+ * @param <T> the domain type
+ */
+@Getter
+@AllArgsConstructor
+public class BulkWriteResult<T> {
+
+    /**
+     * Entities which are written, in the order they were given.
+     */
+    private final List<T> written;
+
+    /**
+     * Entities which failed to be written, in the order they were given.
+     */
+    private final List<Failure<T>> failures;
+
+    public boolean hasFailures() {
+        return !this.failures.isEmpty();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Failure<T> {
+        private final T entity;
+        private final Throwable cause;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Splits the ids of a find by ids query into chunks of IN queries, which are executed concurrently.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ChunkedIdQuery {
+
+    /**
+     * Find the documents of the given ids.
+     *
+     * @param ids           the ids to find
+     * @param chunkSize     the maximum number of ids of one query
+     * @param concurrency   the maximum number of queries executed concurrently
+     * @param preserveOrder whether the documents are emitted in the order of the ids, or as soon as they are found
+     * @param executor      executes the query of a chunk
+     * @param <ID>          the id type
+     * @return Flux of the found documents
+     */
+    static <ID> Flux<CosmosItemProperties> execute(@NonNull Flux<ID> ids, int chunkSize, int concurrency,
+                                                   boolean preserveOrder,
+                                                   @NonNull Function<DocumentQuery, Flux<CosmosItemProperties>>
+                                                       executor) {
+        Assert.isTrue(chunkSize > 0, "chunkSize should be larger than 0");
+        Assert.isTrue(concurrency > 0, "concurrency should be larger than 0");
+
+        final Flux<List<ID>> chunks = ids.buffer(chunkSize);
+
+        if (!preserveOrder) {
+            return chunks.flatMap(chunk -> executor.apply(createQuery(chunk)), concurrency);
+        }
+
+        return chunks.flatMapSequential(chunk -> executor.apply(createQuery(chunk))
+                .collectList()
+                .flatMapIterable(documents -> sortByIds(documents, chunk)), concurrency);
+    }
+
+    private static <ID> DocumentQuery createQuery(List<ID> chunk) {
+        return new DocumentQuery(Criteria.getInstance(CriteriaType.IN, Constants.ID_PROPERTY_NAME,
+                Collections.singletonList(chunk)));
+    }
+
+    private static <ID> List<CosmosItemProperties> sortByIds(List<CosmosItemProperties> documents, List<ID> ids) {
+        final Map<String, Integer> positions = new HashMap<>(ids.size() * 2);
+
+        for (int i = ids.size() - 1; i >= 0; i--) {
+            positions.put(String.valueOf(ids.get(i)), i);
+        }
+
+        documents.sort(Comparator.comparingInt(document -> positions.getOrDefault(document.id(), ids.size())));
+
+        return documents;
+    }
+}
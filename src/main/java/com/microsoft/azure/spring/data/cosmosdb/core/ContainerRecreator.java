@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.BridgeInternal;
+import com.azure.data.cosmos.CosmosContainer;
+import com.azure.data.cosmos.CosmosContainerProperties;
+import com.azure.data.cosmos.CosmosContainerResponse;
+import com.azure.data.cosmos.CosmosDatabase;
+import com.azure.data.cosmos.internal.Constants;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.fillAndProcessResponseDiagnostics;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isBadRequest;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isNotFound;
+
+/**
+ * Empties a container by deleting it and creating it again with the same settings.
+ * <p>
+ * The partition key definition, indexing policy, unique key policy, conflict resolution policy, default time to
+ * live and provisioned throughput of the container are kept. A container which shares the throughput of its
+ * database is created again without throughput of its own.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ContainerRecreator {
+
+    /**
+     * @param database                     the database of the container
+     * @param containerName                the container name
+     * @param responseDiagnosticsProcessor the processor of the response diagnostics, may be null
+     * @return Mono of the response of the creation of the new container
+     */
+    static Mono<CosmosContainerResponse> recreate(@NonNull CosmosDatabase database, @NonNull String containerName,
+                                                  @Nullable ResponseDiagnosticsProcessor
+                                                          responseDiagnosticsProcessor) {
+        final CosmosContainer container = database.getContainer(containerName);
+
+        final Mono<Optional<Integer>> throughput = container.readProvisionedThroughput()
+                .map(Optional::of)
+                .onErrorResume(e -> isNotFound(e) || isBadRequest(e) ? Mono.just(Optional.empty()) : Mono.error(e));
+
+        return container.read()
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor, response, null))
+                .map(response -> copyOf(response.properties()))
+                .zipWith(throughput)
+                .flatMap(settings -> container.delete()
+                        .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                            response, null))
+                        .then(Mono.defer(() -> {
+                            log.debug("recreate container {} with throughput {}", containerName, settings.getT2());
+
+                            return settings.getT2().isPresent()
+                                    ? database.createContainer(settings.getT1(), settings.getT2().get())
+                                    : database.createContainer(settings.getT1());
+                        })))
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor, response, null));
+    }
+
+    private static CosmosContainerProperties copyOf(CosmosContainerProperties properties) {
+        final CosmosContainerProperties copy = new CosmosContainerProperties(properties.id(),
+                properties.partitionKeyDefinition());
+
+        if (properties.indexingPolicy() != null) {
+            copy.indexingPolicy(properties.indexingPolicy());
+        }
+
+        if (properties.uniqueKeyPolicy() != null) {
+            copy.uniqueKeyPolicy(properties.uniqueKeyPolicy());
+        }
+
+        if (properties.conflictResolutionPolicy() != null) {
+            copy.conflictResolutionPolicy(properties.conflictResolutionPolicy());
+        }
+
+        final Integer defaultTimeToLive = properties.getInt(Constants.Properties.DEFAULT_TTL);
+
+        if (defaultTimeToLive != null) {
+            BridgeInternal.setProperty(copy, Constants.Properties.DEFAULT_TTL, defaultTimeToLive);
+        }
+
+        return copy;
+    }
+}
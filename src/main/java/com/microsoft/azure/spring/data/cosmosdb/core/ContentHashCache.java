@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentSkipUnchangedWrites;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps the content hashes of the documents of {@link DocumentSkipUnchangedWrites} classes which were written,
+ * keyed by collection and id.
+ * <p>
+ * The hash covers the document without its system fields, with the fields of every object in name order. The
+ * partition key is a field of the document, so documents of different partitions never share a hash. The hashes of
+ * versioned documents are kept with the etag of their write, so that a document with a stale etag is still written
+ * and fails its optimistic lock. The least recently used hashes are dropped once the capacity is reached.
+ */
+@Slf4j
+final class ContentHashCache {
+
+    private static final Set<String> SYSTEM_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("_rid", "_self", "_etag", "_attachments", "_ts")));
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private static final Function<Class<?>, Boolean> IS_TRACKED = Memoizer.memoize(domainClass ->
+            domainClass.isAnnotationPresent(DocumentSkipUnchangedWrites.class));
+
+    private final Map<List<String>, List<String>> hashes;
+
+    /**
+     * @param capacity the maximum number of hashes
+     */
+    ContentHashCache(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity should be larger than 0");
+
+        this.hashes = Collections.synchronizedMap(new LinkedHashMap<List<String>, List<String>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, List<String>> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    boolean isTracked(@NonNull Class<?> domainClass) {
+        return IS_TRACKED.apply(domainClass);
+    }
+
+    /**
+     * Compute the content hash of a document, if its domain class is tracked.
+     *
+     * @param domainClass the domain class
+     * @param document    the document to write
+     * @return the hash, null when the domain class is not tracked or the document cannot be parsed
+     */
+    @Nullable
+    String hash(@NonNull Class<?> domainClass, @NonNull CosmosItemProperties document) {
+        if (!isTracked(domainClass)) {
+            return null;
+        }
+
+        try {
+            final JsonNode node = ObjectMapperFactory.getObjectMapper().readTree(document.toJson());
+            final MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+
+            update(digest, node, true);
+
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.debug("Failed to hash document {}", document.id(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @param etag the etag of the document to write for versioned documents, otherwise null
+     * @return whether the last written document of the id has the given hash and etag
+     */
+    boolean isUnchanged(@NonNull String collectionName, @NonNull String id, @NonNull String hash,
+                        @Nullable String etag) {
+        return Arrays.asList(hash, etag).equals(this.hashes.get(getKey(collectionName, id)));
+    }
+
+    /**
+     * @param etag the etag returned by the write for versioned documents, otherwise null
+     */
+    void put(@NonNull String collectionName, @NonNull String id, @NonNull String hash, @Nullable String etag) {
+        this.hashes.put(getKey(collectionName, id), Arrays.asList(hash, etag));
+    }
+
+    void evict(@NonNull String collectionName, @NonNull String id) {
+        this.hashes.remove(getKey(collectionName, id));
+    }
+
+    void evictAll(@NonNull String collectionName) {
+        synchronized (this.hashes) {
+            this.hashes.keySet().removeIf(key -> key.get(0).equals(collectionName));
+        }
+    }
+
+    private static void update(MessageDigest digest, JsonNode node, boolean isDocument) {
+        if (node.isObject()) {
+            final List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+
+            digest.update((byte) '{');
+
+            for (final String name : names) {
+                if (isDocument && SYSTEM_FIELDS.contains(name)) {
+                    continue;
+                }
+
+                digest.update(TextNode.valueOf(name).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                update(digest, node.get(name), false);
+                digest.update((byte) ',');
+            }
+
+            digest.update((byte) '}');
+        } else if (node.isArray()) {
+            digest.update((byte) '[');
+
+            for (final JsonNode element : node) {
+                update(digest, element, false);
+                digest.update((byte) ',');
+            }
+
+            digest.update((byte) ']');
+        } else {
+            digest.update(node.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> getKey(String collectionName, String id) {
+        return Arrays.asList(collectionName, id);
+    }
+}
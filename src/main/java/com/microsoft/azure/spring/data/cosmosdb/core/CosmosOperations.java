@@ -36,22 +36,40 @@ public interface CosmosOperations {
 
     <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey);
 
+    <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey, WriteResponseMode responseMode);
+
     <T> void upsert(T object, PartitionKey partitionKey);
 
     <T> void upsert(String collectionName, T object, PartitionKey partitionKey);
 
+    <T> BulkWriteResult<T> bulkInsert(String collectionName, Iterable<T> entities);
+
+    <T> BulkWriteResult<T> bulkUpsert(String collectionName, Iterable<T> entities);
+
+    <T> BulkWriteResult<T> batchUpsert(String collectionName, Iterable<T> entities);
+
+    <T> BulkWriteResult<T> bulkDelete(String collectionName, Iterable<T> entities);
+
     void deleteById(String collectionName, Object id, PartitionKey partitionKey);
 
     void deleteAll(String collectionName, Class<?> domainClass);
 
     void deleteCollection(String collectionName);
 
+    void truncateCollection(String collectionName);
+
     <T> List<T> delete(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    long deleteAll(DocumentQuery query, Class<?> domainClass, String collectionName);
+
     <T> List<T> find(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    <T> List<T> find(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String collectionName);
+
     <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName);
 
+    <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName, boolean preserveOrder);
+
     <T> Boolean exists(DocumentQuery query, Class<T> entityClass, String collectionName);
 
     <T> Page<T> findAll(Pageable pageable, Class<T> domainClass, String collectionName);
@@ -6,31 +6,45 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.core;
 
-import com.azure.data.cosmos.AccessCondition;
 import com.azure.data.cosmos.AccessConditionType;
 import com.azure.data.cosmos.CosmosClient;
+import com.azure.data.cosmos.CosmosContainer;
 import com.azure.data.cosmos.CosmosContainerProperties;
 import com.azure.data.cosmos.CosmosContainerResponse;
 import com.azure.data.cosmos.CosmosItemProperties;
 import com.azure.data.cosmos.CosmosItemRequestOptions;
 import com.azure.data.cosmos.CosmosItemResponse;
+import com.azure.data.cosmos.CosmosStoredProcedureRequestOptions;
+import com.azure.data.cosmos.CosmosStoredProcedureResponse;
 import com.azure.data.cosmos.FeedOptions;
 import com.azure.data.cosmos.FeedResponse;
 import com.azure.data.cosmos.PartitionKey;
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.CountQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentWriteBehind;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosOffsetPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.domain.Page;
@@ -41,27 +55,58 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.fillAndProcessResponseDiagnostics;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.getAccessCondition;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isConflict;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isNotFound;
 
 @Slf4j
-public class CosmosTemplate implements CosmosOperations, ApplicationContextAware {
+public class CosmosTemplate implements CosmosOperations, ApplicationContextAware, DisposableBean {
 
     private static final String COUNT_VALUE_KEY = "_aggregate";
 
+    // About one page of query results is interleaved by partition key before it is deleted
+    private static final int DELETE_WINDOW_SIZE = 100;
+
     private final MappingCosmosConverter mappingCosmosConverter;
     private final String databaseName;
     private final ResponseDiagnosticsProcessor responseDiagnosticsProcessor;
     private final boolean isPopulateQueryMetrics;
+    private final int findByIdsChunkSize;
+    private final int findByIdsConcurrency;
+    private final int bulkConcurrency;
+    private final int batchWriteSize;
+    private final int throttleRetryAttempts;
+    private final DeleteAllStrategy deleteAllStrategy;
+    private final WriteResponseMode writeResponseMode;
+    private final PartialUpdateTracker partialUpdateTracker;
+    private final ContentHashCache contentHashCache;
+    private final EntityCache entityCache;
+    private final QueryResultCache queryResultCache;
+    private final InFlightReads inFlightReads;
+    private final MeterRegistry meterRegistry;
+    private final BatchMetrics batchMetrics;
 
     private final CosmosClient cosmosClient;
+    private final Map<String, WriteBehindBuffer> writeBehindBuffers = new ConcurrentHashMap<>();
+    private Scheduler writeBehindScheduler;
     private Function<Class<?>, CosmosEntityInformation<?, ?>> entityInfoCreator =
             Memoizer.memoize(this::getCosmosEntityInformation);
 
@@ -77,11 +122,41 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         this.cosmosClient = cosmosDbFactory.getCosmosClient();
         this.responseDiagnosticsProcessor = cosmosDbFactory.getConfig().getResponseDiagnosticsProcessor();
         this.isPopulateQueryMetrics = cosmosDbFactory.getConfig().isPopulateQueryMetrics();
+        this.findByIdsChunkSize = cosmosDbFactory.getConfig().getFindByIdsChunkSize();
+        this.findByIdsConcurrency = cosmosDbFactory.getConfig().getFindByIdsConcurrency();
+        this.bulkConcurrency = cosmosDbFactory.getConfig().getBulkConcurrency();
+        this.batchWriteSize = cosmosDbFactory.getConfig().getBatchWriteSize();
+        this.throttleRetryAttempts = cosmosDbFactory.getConfig().getThrottleRetryAttempts();
+        this.deleteAllStrategy = cosmosDbFactory.getConfig().getDeleteAllStrategy();
+        this.writeResponseMode = cosmosDbFactory.getConfig().getWriteResponseMode();
+        this.partialUpdateTracker = new PartialUpdateTracker(
+            cosmosDbFactory.getConfig().getPartialUpdateSnapshotCapacity());
+        this.contentHashCache = new ContentHashCache(cosmosDbFactory.getConfig().getContentHashCapacity());
+        this.meterRegistry = cosmosDbFactory.getConfig().getMeterRegistry();
+        this.batchMetrics = new BatchMetrics(this.meterRegistry);
+        this.entityCache = new EntityCache(cosmosDbFactory.getConfig());
+        this.queryResultCache = new QueryResultCache(cosmosDbFactory.getConfig().getQueryCacheMaxWeight(),
+            Clock.systemUTC(), this.meterRegistry);
+        this.inFlightReads = new InFlightReads(cosmosDbFactory.getConfig().isCoalesceReads(), this.meterRegistry);
     }
 
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
     }
 
+    /**
+     * Write all buffered upserts of {@link DocumentWriteBehind} documents before the template is dropped.
+     */
+    @Override
+    public void destroy() {
+        this.writeBehindBuffers.values().forEach(WriteBehindBuffer::close);
+
+        synchronized (this.writeBehindBuffers) {
+            if (this.writeBehindScheduler != null) {
+                this.writeBehindScheduler.dispose();
+            }
+        }
+    }
+
     public <T> T insert(T objectToSave, PartitionKey partitionKey) {
         Assert.notNull(objectToSave, "entityClass should not be null");
 
@@ -89,39 +164,72 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
     }
 
     public <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey) {
+        return insert(collectionName, objectToSave, partitionKey, this.writeResponseMode);
+    }
+
+    public <T> T insert(String collectionName, T objectToSave, PartitionKey partitionKey,
+                        WriteResponseMode responseMode) {
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(objectToSave, "objectToSave should not be null");
-
-        final CosmosItemProperties originalItem = mappingCosmosConverter.writeCosmosItemProperties(objectToSave);
-
-        log.debug("execute createDocument in database {} collection {}", this.databaseName, collectionName);
+        Assert.notNull(responseMode, "responseMode should not be null");
 
         try {
-            final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
-            options.partitionKey(partitionKey);
-
-            @SuppressWarnings("unchecked")
-            final Class<T> domainClass = (Class<T>) objectToSave.getClass();
-
-            final CosmosItemResponse response = cosmosClient.getDatabase(this.databaseName)
-                    .getContainer(collectionName)
-                    .createItem(originalItem, options)
-                    .doOnNext(cosmosItemResponse -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                        cosmosItemResponse, null))
-                    .onErrorResume(Mono::error)
-                    .block();
+            final T response = insertItem(collectionName, objectToSave, partitionKey, responseMode).block();
 
             if (response == null) {
                 throw new CosmosDBAccessException("Failed to insert item");
             }
 
-            return mappingCosmosConverter.read(domainClass, response.properties());
+            return response;
 
         } catch (Exception e) {
             throw new CosmosDBAccessException("insert exception", e);
         }
     }
 
+    private <T> Mono<T> insertItem(String collectionName, T objectToSave, PartitionKey partitionKey,
+                                   WriteResponseMode responseMode) {
+        final CosmosItemProperties originalItem = mappingCosmosConverter.writeCosmosItemProperties(objectToSave);
+
+        log.debug("execute createDocument in database {} collection {}", this.databaseName, collectionName);
+
+        final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
+        options.partitionKey(partitionKey);
+
+        @SuppressWarnings("unchecked")
+        final Class<T> domainClass = (Class<T>) objectToSave.getClass();
+        final String contentHash = contentHashCache.hash(domainClass, originalItem);
+
+        discardWriteBehind(collectionName, getCosmosEntityId(objectToSave), partitionKey);
+
+        return cosmosClient.getDatabase(this.databaseName)
+                .getContainer(collectionName)
+                .createItem(originalItem, options)
+                .doOnNext(cosmosItemResponse -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    cosmosItemResponse, null))
+                .doOnNext(cosmosItemResponse -> putContentHash(collectionName, domainClass, originalItem,
+                    contentHash, cosmosItemResponse.properties()))
+                .doOnNext(cosmosItemResponse -> putCachedDocument(collectionName, domainClass,
+                    cosmosItemResponse.properties()))
+                .doOnNext(cosmosItemResponse -> queryResultCache.invalidate(collectionName))
+                .map(cosmosItemResponse -> toWrittenEntity(objectToSave, domainClass, cosmosItemResponse,
+                    responseMode));
+    }
+
+    private <T> T toWrittenEntity(T entity, Class<T> domainClass, CosmosItemResponse response,
+                                  WriteResponseMode responseMode) {
+        final CosmosItemProperties properties = response.properties();
+
+        if (responseMode == WriteResponseMode.NO_CONTENT) {
+            final OffsetDateTime timestamp = properties.timestamp();
+            CosmosEntityCodec.of(domainClass).setServerFields(entity, properties.etag(),
+                timestamp == null ? null : timestamp.toEpochSecond());
+            return entity;
+        }
+
+        return toDomainObject(domainClass, properties);
+    }
+
     public <T> T findById(Object id, Class<T> entityClass) {
         Assert.notNull(entityClass, "entityClass should not be null");
 
@@ -136,17 +244,8 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
 
         try {
             final String collectionName = getCollectionName(entityClass);
-            return cosmosClient
-                .getDatabase(databaseName)
-                .getContainer(collectionName)
-                .getItem(id.toString(), partitionKey)
-                .read()
-                .flatMap(cosmosItemResponse -> {
-                    fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                        cosmosItemResponse, null);
-                    return Mono.justOrEmpty(toDomainObject(entityClass,
-                        cosmosItemResponse.properties()));
-                })
+            return readDocument(entityClass, collectionName, id, partitionKey)
+                .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties))
                 .onErrorResume(Mono::error)
                 .block();
 
@@ -161,8 +260,16 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         assertValidId(id);
 
         try {
+            final PartitionKey partitionKey = entityInfoCreator.apply(domainClass).getPartitionKeyOfId(id);
 
-            final String query = String.format("select * from root where root.id = '%s'", id.toString());
+            if (partitionKey != null) {
+                return readDocument(domainClass, collectionName, id, partitionKey)
+                        .map(cosmosItemProperties -> toDomainObject(domainClass, cosmosItemProperties))
+                        .onErrorResume(e -> isNotFound(e) ? Mono.empty() : Mono.error(e))
+                        .block();
+            }
+
+            final SqlQuerySpec query = new FindQuerySpecGenerator().generateCosmos(createFindByIdQuery(id));
             final FeedOptions options = new FeedOptions();
             options.enableCrossPartitionQuery(true);
             options.populateQueryMetrics(isPopulateQueryMetrics);
@@ -176,7 +283,7 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
                         return Mono.justOrEmpty(cosmosItemFeedResponse
                             .results()
                             .stream()
-                            .map(cosmosItem -> mappingCosmosConverter.read(domainClass, cosmosItem))
+                            .map(cosmosItem -> toDomainObject(domainClass, cosmosItem))
                             .findFirst());
                     })
                     .onErrorResume(Mono::error)
@@ -197,32 +304,412 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(object, "Upsert object should not be null");
 
-        try {
-            final CosmosItemProperties originalItem = mappingCosmosConverter.writeCosmosItemProperties(object);
+        final CosmosItemProperties document = mappingCosmosConverter.writeCosmosItemProperties(object);
+        final String contentHash = contentHashCache.hash(object.getClass(), document);
 
-            log.debug("execute upsert document in database {} collection {}", this.databaseName, collectionName);
+        if (isUnchanged(collectionName, object.getClass(), document, contentHash)) {
+            return;
+        }
 
-            final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
-            options.partitionKey(partitionKey);
-            applyVersioning(object.getClass(), originalItem, options);
+        final DocumentWriteBehind writeBehind = entityInfoCreator.apply(object.getClass()).getWriteBehind();
 
-            final CosmosItemResponse cosmosItemResponse = cosmosClient.getDatabase(this.databaseName)
-                    .getContainer(collectionName)
-                    .upsertItem(originalItem, options)
-                    .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                        response, null))
-                    .onErrorResume(Mono::error)
-                    .block();
+        if (writeBehind != null) {
+            contentHashCache.evict(collectionName, document.id());
+            entityCache.evict(collectionName, document.id(), getDocumentPartitionKey(object.getClass(), document));
+            queryResultCache.invalidate(collectionName);
+            getWriteBehindBuffer(collectionName, writeBehind)
+                .add(getWriteBehindKey(getCosmosEntityId(object), partitionKey), object);
+            return;
+        }
+
+        if (partialUpdateTracker.isTracked(object.getClass())) {
+            final CosmosItemProperties updated = partialUpdate(collectionName, object, document, partitionKey);
+
+            if (updated != null) {
+                putContentHash(collectionName, object.getClass(), document, contentHash, updated);
+                return;
+            }
+        }
+
+        try {
+            final CosmosItemResponse cosmosItemResponse = upsertItem(collectionName, object.getClass(), document,
+                partitionKey).block();
 
             if (cosmosItemResponse == null) {
                 throw new CosmosDBAccessException("Failed to upsert item");
             }
 
+            putContentHash(collectionName, object.getClass(), document, contentHash,
+                cosmosItemResponse.properties());
         } catch (Exception ex) {
             throw new CosmosDBAccessException("Failed to upsert document to database.", ex);
         }
     }
 
+    /**
+     * Apply the changes of the entity since its document was read as a patch.
+     *
+     * @return the updated document, null when the patch is not applied and the entity should be upserted as a whole
+     */
+    private <T> CosmosItemProperties partialUpdate(String collectionName, T object, CosmosItemProperties document,
+                                      PartitionKey partitionKey) {
+        @SuppressWarnings("unchecked")
+        final Class<T> domainClass = (Class<T>) object.getClass();
+        final ArrayNode operations = partialUpdateTracker.diff(domainClass, document);
+
+        if (operations == null) {
+            return null;
+        }
+
+        log.debug("execute partial update of {} fields in database {} collection {}", operations.size(),
+            this.databaseName, collectionName);
+
+        final CosmosStoredProcedureRequestOptions options = new CosmosStoredProcedureRequestOptions();
+        options.partitionKey(partitionKey == null ? PartitionKey.None : partitionKey);
+
+        try {
+            final CosmosItemProperties updated = executeStoredProcedure(
+                    cosmosClient.getDatabase(this.databaseName).getContainer(collectionName),
+                    StoredProcedure.PARTIAL_UPDATE, new Object[]{document.id(), document.etag(), operations}, options)
+                    .map(response -> new CosmosItemProperties(response.responseAsString()))
+                    .block();
+
+            if (updated == null) {
+                return null;
+            }
+
+            final OffsetDateTime timestamp = updated.timestamp();
+            CosmosEntityCodec.of(domainClass).setServerFields(object, updated.etag(),
+                timestamp == null ? null : timestamp.toEpochSecond());
+            partialUpdateTracker.snapshot(domainClass, updated);
+            putCachedDocument(collectionName, domainClass, updated);
+            queryResultCache.invalidate(collectionName);
+
+            return updated;
+        } catch (RuntimeException e) {
+            log.debug("Partial update of document {} failed, upsert the whole document", document.id(), e);
+            return null;
+        }
+    }
+
+    private Mono<CosmosItemResponse> upsertItem(String collectionName, Class<?> domainClass,
+                                                CosmosItemProperties document, PartitionKey partitionKey) {
+        log.debug("execute upsert document in database {} collection {}", this.databaseName, collectionName);
+
+        final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
+        options.partitionKey(partitionKey);
+        applyVersioning(domainClass, document, options);
+
+        return cosmosClient.getDatabase(this.databaseName)
+                .getContainer(collectionName)
+                .upsertItem(document, options)
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    response, null))
+                .doOnNext(response -> putCachedDocument(collectionName, domainClass, response.properties()))
+                .doOnNext(response -> queryResultCache.invalidate(collectionName));
+    }
+
+    /**
+     * Refresh the cached document of a written entity, keyed by the partition key value of the document.
+     */
+    private void putCachedDocument(String collectionName, Class<?> domainClass, CosmosItemProperties document) {
+        if (document != null) {
+            entityCache.put(domainClass, collectionName, getDocumentPartitionKey(domainClass, document), document);
+        }
+    }
+
+    /**
+     * Check whether the document is the same as the last one written to its id, and count the skipped write.
+     */
+    private boolean isUnchanged(String collectionName, Class<?> domainClass, CosmosItemProperties document,
+                                String contentHash) {
+        if (contentHash == null || !contentHashCache.isUnchanged(collectionName, document.id(), contentHash,
+                getContentHashEtag(domainClass, document))) {
+            return false;
+        }
+
+        log.debug("skip upsert of unchanged document {} in database {} collection {}", document.id(),
+            this.databaseName, collectionName);
+
+        Counter.builder(Constants.METRIC_SKIPPED_WRITES)
+               .description("Number of upserts skipped because the document did not change")
+               .tag(Constants.METRIC_TAG_COLLECTION, collectionName)
+               .register(this.meterRegistry)
+               .increment();
+
+        return true;
+    }
+
+    private void putContentHash(String collectionName, Class<?> domainClass, CosmosItemProperties document,
+                                String contentHash, CosmosItemProperties written) {
+        if (contentHash != null) {
+            contentHashCache.put(collectionName, document.id(), contentHash,
+                getContentHashEtag(domainClass, written));
+        }
+    }
+
+    /**
+     * The content hash of a versioned document is only valid with the etag of its write, so that an upsert with a
+     * stale etag is sent and fails on its access condition instead of being skipped.
+     */
+    private String getContentHashEtag(Class<?> domainClass, CosmosItemProperties document) {
+        return document != null && entityInfoCreator.apply(domainClass).isVersioned() ? document.etag() : null;
+    }
+
+    private WriteBehindBuffer getWriteBehindBuffer(String collectionName, DocumentWriteBehind writeBehind) {
+        return this.writeBehindBuffers.computeIfAbsent(collectionName, name -> new WriteBehindBuffer(
+            writeBehind.flushSize(), writeBehind.maxBufferSize(),
+            Duration.ofMillis(writeBehind.flushIntervalMillis()), getWriteBehindScheduler(),
+            entities -> writeBuffered(name, entities)));
+    }
+
+    private Scheduler getWriteBehindScheduler() {
+        synchronized (this.writeBehindBuffers) {
+            if (this.writeBehindScheduler == null) {
+                this.writeBehindScheduler = Schedulers.newElastic("cosmos-write-behind", 60, true);
+            }
+
+            return this.writeBehindScheduler;
+        }
+    }
+
+    private void writeBuffered(String collectionName, List<Object> entities) {
+        final BulkWriteResult<Object> result = bulkUpsert(collectionName, entities, false);
+
+        if (result.hasFailures()) {
+            log.error("Failed to write {} of {} buffered upserts to collection {}", result.getFailures().size(),
+                entities.size(), collectionName, result.getFailures().get(0).getCause());
+        }
+    }
+
+    private Object getWriteBehindKey(Object id, PartitionKey partitionKey) {
+        // PartitionKey has no hashCode of its value, so the key holds its JSON, which None does not have
+        final boolean isNone = partitionKey == null || PartitionKey.None.equals(partitionKey);
+
+        return Arrays.asList(id.toString(), isNone ? "" : partitionKey.toString());
+    }
+
+    /**
+     * Drop the buffered upsert of a document which is written or deleted directly, so that a later flush does not
+     * overwrite the direct write with the older buffered entity.
+     */
+    private void discardWriteBehind(String collectionName, Object id, PartitionKey partitionKey) {
+        final WriteBehindBuffer writeBehindBuffer = this.writeBehindBuffers.get(collectionName);
+
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.discard(getWriteBehindKey(id, partitionKey));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Object getCosmosEntityId(T entity) {
+        return ((CosmosEntityInformation<T, ?>) entityInfoCreator.apply(entity.getClass())).getId(entity);
+    }
+
+    public <T> BulkWriteResult<T> bulkInsert(String collectionName, Iterable<T> entities) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        final List<T> entityList = toList(entities);
+        final BatchMetrics.Batch batch = batchMetrics.start("bulkInsert", collectionName, entityList.size());
+
+        try {
+            return BulkExecutor.execute(entityList, this::getPartitionKeyValue, bulkConcurrency,
+                entity -> insertItem(collectionName, entity, toPartitionKey(getPartitionKeyValue(entity)),
+                        this.writeResponseMode)
+                        .doOnSubscribe(s -> batch.started(1))
+                        .onErrorMap(e -> new CosmosDBAccessException("insert exception", e)))
+                    .block();
+        } finally {
+            batch.stop();
+        }
+    }
+
+    public <T> BulkWriteResult<T> bulkUpsert(String collectionName, Iterable<T> entities) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        return bulkUpsert(collectionName, entities, true);
+    }
+
+    /**
+     * @param isDiscardingBuffered whether buffered upserts of the entities are dropped, unless the entities are the
+     *                             buffered upserts themselves
+     */
+    private <T> BulkWriteResult<T> bulkUpsert(String collectionName, Iterable<T> entities,
+                                              boolean isDiscardingBuffered) {
+        final List<T> entityList = toList(entities);
+        final BatchMetrics.Batch batch = batchMetrics.start("bulkUpsert", collectionName, entityList.size());
+
+        try {
+            return BulkExecutor.execute(entityList, this::getPartitionKeyValue, bulkConcurrency, entity -> {
+                batch.started(1);
+
+                final PartitionKey partitionKey = toPartitionKey(getPartitionKeyValue(entity));
+
+                if (isDiscardingBuffered) {
+                    discardWriteBehind(collectionName, getCosmosEntityId(entity), partitionKey);
+                }
+
+                final CosmosItemProperties document = mappingCosmosConverter.writeCosmosItemProperties(entity);
+                final String contentHash = contentHashCache.hash(entity.getClass(), document);
+
+                if (isUnchanged(collectionName, entity.getClass(), document, contentHash)) {
+                    return Mono.just(entity);
+                }
+
+                return upsertItem(collectionName, entity.getClass(), document, partitionKey)
+                        .doOnNext(response -> putContentHash(collectionName, entity.getClass(), document,
+                            contentHash, response.properties()))
+                        .thenReturn(entity)
+                        .onErrorMap(e -> new CosmosDBAccessException("Failed to upsert document to database.", e));
+            }).block();
+        } finally {
+            batch.stop();
+        }
+    }
+
+    /**
+     * Delete the documents of the entities with a bounded number of concurrent requests, which are spread over the
+     * partitions. Documents which do not exist are reported as deleted.
+     *
+     * @param collectionName the collection name
+     * @param entities       the entities to delete
+     * @param <T>            the domain type
+     * @return the result, which reports every entity as deleted or failed
+     */
+    public <T> BulkWriteResult<T> bulkDelete(String collectionName, Iterable<T> entities) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        final List<T> entityList = toList(entities);
+        final BatchMetrics.Batch batch = batchMetrics.start("bulkDelete", collectionName, entityList.size());
+
+        try {
+            return BulkExecutor.execute(entityList, this::getPartitionKeyValue, bulkConcurrency,
+                entity -> BulkExecutor.retryThrottled(deleteItem(collectionName, getCosmosEntityId(entity),
+                        toPartitionKey(getPartitionKeyValue(entity))), throttleRetryAttempts)
+                        .doOnSubscribe(s -> batch.started(1))
+                        .onErrorResume(e -> isNotFound(e) ? Mono.empty() : Mono.error(e))
+                        .thenReturn(entity)
+                        .onErrorMap(e -> new CosmosDBAccessException("deleteById exception", e)))
+                    .block();
+        } finally {
+            batch.stop();
+        }
+    }
+
+    /**
+     * Upsert the entities with one request per batch of entities with the same partition key value, every
+     * batch is written atomically by a stored procedure.
+     *
+     * @param collectionName the collection name
+     * @param entities       the entities to upsert
+     * @param <T>            the domain type
+     * @return the result, which reports every entity as written or failed along with its batch
+     */
+    public <T> BulkWriteResult<T> batchUpsert(String collectionName, Iterable<T> entities) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        final List<T> entityList = toList(entities);
+        final BatchMetrics.Batch metrics = batchMetrics.start("batchUpsert", collectionName, entityList.size());
+
+        try {
+            return BulkExecutor.<T, String>executeBatches(entityList, this::getPartitionKeyValue, batchWriteSize,
+                bulkConcurrency, (partitionKeyValue, batch) ->
+                    executeBatchUpsert(collectionName, toPartitionKey(partitionKeyValue), batch)
+                        .doOnSubscribe(s -> metrics.started(batch.size()))
+                        .onErrorMap(e -> new CosmosDBAccessException("Failed to batch upsert documents to database.",
+                            e)))
+                    .block();
+        } finally {
+            metrics.stop();
+        }
+    }
+
+    private <T> Mono<List<T>> executeBatchUpsert(String collectionName, PartitionKey partitionKey, List<T> batch) {
+        @SuppressWarnings("unchecked")
+        final Class<T> domainClass = (Class<T>) batch.get(0).getClass();
+        final boolean isVersioned = entityInfoCreator.apply(domainClass).isVersioned();
+        final CosmosContainer container = cosmosClient.getDatabase(this.databaseName).getContainer(collectionName);
+        final CosmosStoredProcedureRequestOptions options = new CosmosStoredProcedureRequestOptions();
+        options.partitionKey(partitionKey);
+
+        log.debug("execute batch upsert of {} documents in database {} collection {}", batch.size(),
+            this.databaseName, collectionName);
+
+        return Mono.fromCallable(() -> {
+                    batch.forEach(entity -> discardWriteBehind(collectionName, getCosmosEntityId(entity),
+                        partitionKey));
+                    return toArrayNode(batch);
+                })
+                .flatMap(documents -> executeStoredProcedure(container, StoredProcedure.BULK_UPSERT,
+                    new Object[]{documents, isVersioned}, options))
+                .flatMap(response -> Mono.fromCallable(() -> fromArrayNode(domainClass,
+                    response.responseAsString())))
+                .doOnNext(written -> {
+                    queryResultCache.invalidate(collectionName);
+
+                    if (entityCache.isCached(domainClass)) {
+                        written.forEach(entity -> entityCache.evict(collectionName, getCosmosEntityId(entity),
+                            partitionKey));
+                    }
+                })
+                // Whether or not the batch is reported written, the content hashes of its documents are stale
+                .doFinally(signal -> batch.forEach(entity -> contentHashCache.evict(collectionName,
+                    getCosmosEntityId(entity).toString())));
+    }
+
+    private Mono<CosmosStoredProcedureResponse> executeStoredProcedure(CosmosContainer container,
+                                                                       StoredProcedure storedProcedure,
+                                                                       Object[] parameters,
+                                                                       CosmosStoredProcedureRequestOptions options) {
+        final Mono<CosmosStoredProcedureResponse> execution = container.getScripts()
+                .getStoredProcedure(storedProcedure.getId())
+                .execute(parameters, options);
+
+        return execution
+                .onErrorResume(e -> isNotFound(e)
+                        ? installStoredProcedure(container, storedProcedure).then(execution)
+                        : Mono.error(e))
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    response, null));
+    }
+
+    private <T> ArrayNode toArrayNode(List<T> entities) throws IOException {
+        final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+        final ArrayNode documents = mapper.createArrayNode();
+
+        for (final T entity : entities) {
+            documents.add(mapper.readTree(mappingCosmosConverter.writeCosmosItemProperties(entity).toJson()));
+        }
+
+        return documents;
+    }
+
+    private <T> List<T> fromArrayNode(Class<T> domainClass, String json) throws IOException {
+        final JsonNode documents = ObjectMapperFactory.getObjectMapper().readTree(json);
+        final List<T> entities = new ArrayList<>(documents.size());
+
+        for (final JsonNode document : documents) {
+            entities.add(toDomainObject(domainClass, new CosmosItemProperties(document.toString())));
+        }
+
+        return entities;
+    }
+
+    private Mono<Void> installStoredProcedure(CosmosContainer container, StoredProcedure storedProcedure) {
+        return container.getScripts()
+                .getStoredProcedure(storedProcedure.getId())
+                .read()
+                .onErrorResume(e -> isNotFound(e)
+                        ? container.getScripts().createStoredProcedure(storedProcedure.getProperties())
+                        : Mono.error(e))
+                .onErrorResume(e -> isConflict(e) ? Mono.empty() : Mono.error(e))
+                .then();
+    }
+
     public <T> List<T> findAll(Class<T> entityClass) {
         Assert.notNull(entityClass, "entityClass should not be null");
 
@@ -237,7 +724,7 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
 
         final List<CosmosItemProperties> documents = findDocuments(query, domainClass, collectionName);
         return documents.stream()
-                .map(d -> getConverter().read(domainClass, d))
+                .map(d -> toDomainObject(domainClass, d))
                 .collect(Collectors.toList());
     }
 
@@ -245,13 +732,69 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
 
         final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+        final WriteBehindBuffer writeBehindBuffer = this.writeBehindBuffers.get(collectionName);
+
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.discardAll();
+        }
+
+        contentHashCache.evictAll(collectionName);
+        entityCache.evictAll(collectionName);
+        queryResultCache.invalidate(collectionName);
+
+        if (this.deleteAllStrategy == DeleteAllStrategy.RECREATE_CONTAINER) {
+            this.truncateCollection(collectionName);
+        } else {
+            this.deleteAll(query, domainClass, collectionName);
+        }
+    }
+
+    /**
+     * Empty the collection by deleting it and creating it again with the same settings.
+     *
+     * @param collectionName the collection name
+     * @see DeleteAllStrategy#RECREATE_CONTAINER
+     */
+    @Override
+    public void truncateCollection(@NonNull String collectionName) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+
+        final WriteBehindBuffer writeBehindBuffer = this.writeBehindBuffers.get(collectionName);
+
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.discardAll();
+        }
+
+        contentHashCache.evictAll(collectionName);
+        entityCache.evictAll(collectionName);
+        queryResultCache.invalidate(collectionName);
+
+        try {
+            final CosmosContainerResponse response = ContainerRecreator.recreate(
+                    cosmosClient.getDatabase(this.databaseName), collectionName, responseDiagnosticsProcessor)
+                    .block();
+
+            if (response == null) {
+                throw new CosmosDBAccessException("Failed to recreate collection");
+            }
 
-        this.delete(query, domainClass, collectionName);
+            Flux.fromArray(StoredProcedure.values())
+                .flatMap(storedProcedure -> installStoredProcedure(response.container(), storedProcedure))
+                .blockLast();
+        } catch (Exception e) {
+            throw new CosmosDBAccessException("failed to truncate collection: " + collectionName, e);
+        } finally {
+            entityCache.evictAll(collectionName);
+            queryResultCache.invalidate(collectionName);
+        }
     }
 
     @Override
     public void deleteCollection(@NonNull String collectionName) {
         Assert.hasText(collectionName, "collectionName should have text.");
+        contentHashCache.evictAll(collectionName);
+        entityCache.evictAll(collectionName);
+        queryResultCache.invalidate(collectionName);
         try {
             cosmosClient
                 .getDatabase(this.databaseName)
@@ -291,6 +834,11 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         if (response == null) {
             throw new CosmosDBAccessException("Failed to create collection");
         }
+
+        Flux.fromArray(StoredProcedure.values())
+            .flatMap(storedProcedure -> installStoredProcedure(response.container(), storedProcedure))
+            .blockLast();
+
         return response.properties();
     }
 
@@ -303,49 +851,152 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         if (partitionKey == null) {
             partitionKey = PartitionKey.None;
         }
-        try {
-            final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
-            options.partitionKey(partitionKey);
-            cosmosClient.getDatabase(this.databaseName)
-                        .getContainer(collectionName)
-                        .getItem(id.toString(), partitionKey)
-                        .delete(options)
-                        .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                            response, null))
-                        .onErrorResume(Mono::error)
-                        .block();
 
+        try {
+            deleteItem(collectionName, id, partitionKey).block();
         } catch (Exception e) {
             throw new CosmosDBAccessException("deleteById exception", e);
         }
     }
 
+    private Mono<CosmosItemResponse> deleteItem(String collectionName, Object id, PartitionKey partitionKey) {
+        discardWriteBehind(collectionName, id, partitionKey);
+
+        contentHashCache.evict(collectionName, id.toString());
+
+        final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
+        options.partitionKey(partitionKey);
+
+        return cosmosClient.getDatabase(this.databaseName)
+                .getContainer(collectionName)
+                .getItem(id.toString(), partitionKey)
+                .delete(options)
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    response, null))
+                .doFinally(signal -> {
+                    entityCache.evict(collectionName, id, partitionKey);
+                    queryResultCache.invalidate(collectionName);
+                });
+    }
+
     @Override
     public <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName) {
+        return findByIds(ids, entityClass, collectionName, false);
+    }
+
+    /**
+     * Find the entities of the given ids. Large id lists are split into chunks of IN queries, which are executed
+     * concurrently as configured by {@link CosmosDBConfig#getFindByIdsChunkSize()} and
+     * {@link CosmosDBConfig#getFindByIdsConcurrency()}.
+     *
+     * @param ids            the ids to find
+     * @param entityClass    the entity class
+     * @param collectionName the collection name
+     * @param preserveOrder  whether the entities are returned in the order of the ids
+     * @return the found entities
+     */
+    @Override
+    public <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName,
+                                     boolean preserveOrder) {
         Assert.notNull(ids, "Id list should not be null");
         Assert.notNull(entityClass, "entityClass should not be null.");
         Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
 
-        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "id",
-                Collections.singletonList(ids)));
-        return find(query, entityClass, collectionName);
+        final List<ID> idList = toList(ids);
+        final BatchMetrics.Batch batch = batchMetrics.start("findByIds", collectionName, idList.size());
+
+        try {
+            return ChunkedIdQuery.execute(Flux.fromIterable(idList).doOnNext(id -> batch.started(1)),
+                    findByIdsChunkSize, findByIdsConcurrency, preserveOrder,
+                    query -> findDocumentsFlux(query, entityClass, collectionName))
+                    .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties))
+                    .collectList()
+                    .block();
+        } catch (Exception e) {
+            throw new CosmosDBAccessException("Failed to execute find operation from " + collectionName, e);
+        } finally {
+            batch.stop();
+        }
     }
 
     public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
+        return find(query, domainClass, domainClass, collectionName);
+    }
+
+    public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                            @NonNull Class<T> returnType, String collectionName) {
         Assert.notNull(query, "DocumentQuery should not be null.");
         Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
         Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
 
         try {
-            return findDocuments(query, domainClass, collectionName)
+            final boolean isFullDocument = query.getProjection().isEmpty();
+
+            return findCachedDocuments(query, domainClass, collectionName)
                     .stream()
-                .map(cosmosItemProperties -> toDomainObject(domainClass, cosmosItemProperties))
+                    .peek(cosmosItemProperties -> {
+                        if (isFullDocument) {
+                            partialUpdateTracker.snapshot(domainClass, cosmosItemProperties);
+                        }
+                    })
+                    .map(cosmosItemProperties -> mappingCosmosConverter.read(domainClass, returnType,
+                        cosmosItemProperties))
                     .collect(Collectors.toList());
         } catch (Exception e) {
             throw new CosmosDBAccessException("Failed to execute find operation from " + collectionName, e);
         }
     }
 
+    /**
+     * Find the documents of the query, from the query result cache when the query is cached, otherwise sharing the
+     * query with identical queries in flight.
+     */
+    private List<CosmosItemProperties> findCachedDocuments(DocumentQuery query, Class<?> domainClass,
+                                                           String collectionName) {
+        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        final boolean isCached = query.getCacheTimeToLive() != null;
+
+        if (!isCached && !inFlightReads.isEnabled()) {
+            return findDocumentsFlux(query, sqlQuerySpec, domainClass, collectionName).collectList().block();
+        }
+
+        final List<Object> key = QueryResultCache.getKey(collectionName, sqlQuerySpec, query);
+        final long generation = queryResultCache.getGeneration(collectionName);
+        final List<CosmosItemProperties> cached = isCached ? queryResultCache.get(key) : null;
+
+        if (cached != null) {
+            return cached;
+        }
+
+        return inFlightReads
+            .read(collectionName, generation, key, () -> findDocumentsFlux(query, sqlQuerySpec, domainClass,
+                collectionName)
+                .collectList()
+                .doOnNext(documents -> {
+                    if (isCached) {
+                        queryResultCache.put(key, generation, documents, query.getCacheTimeToLive());
+                    }
+                }))
+            .block();
+    }
+
+    /**
+     * Read a document through the document cache, sharing the read with identical reads in flight.
+     */
+    private Mono<CosmosItemProperties> readDocument(Class<?> domainClass, String collectionName, Object id,
+                                                    PartitionKey partitionKey) {
+        final CosmosContainer container = cosmosClient.getDatabase(databaseName).getContainer(collectionName);
+
+        if (!inFlightReads.isEnabled()) {
+            return entityCache.read(domainClass, container, id, partitionKey, responseDiagnosticsProcessor);
+        }
+
+        return inFlightReads.read(collectionName, queryResultCache.getGeneration(collectionName),
+            Arrays.asList(domainClass, EntityCache.getKey(collectionName, id, partitionKey)),
+            () -> entityCache.read(domainClass, container, id, partitionKey, responseDiagnosticsProcessor));
+    }
+
     public <T> Boolean exists(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
         return this.find(query, domainClass, collectionName).size() > 0;
     }
@@ -368,14 +1019,131 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.notNull(domainClass, "domainClass should not be null.");
         Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
 
-        final List<CosmosItemProperties> results = findDocuments(query, domainClass, collectionName);
-        final List<String> partitionKeyName = getPartitionKeyNames(domainClass);
+        try {
+            return deleteDocuments(query, domainClass, collectionName)
+                    .map(d -> getConverter().read(domainClass, d))
+                    .collectList()
+                    .block();
+        } catch (Exception e) {
+            throw new CosmosDBAccessException("delete exception", e);
+        }
+    }
+
+    /**
+     * Delete the documents of the query without converting them into entities. A query of one partition key value
+     * is executed by a stored procedure, which deletes the documents without sending them to the client.
+     *
+     * @param query          the query of the documents to delete
+     * @param domainClass    the domain class
+     * @param collectionName the collection name
+     * @return the number of deleted documents
+     */
+    @Override
+    public long deleteAll(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                          @NonNull String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
+
+        try {
+            final Object partitionKeyValue = getSinglePartitionKeyValue(query, domainClass);
+
+            if (partitionKeyValue != null) {
+                return deleteByStoredProcedure(query, domainClass, collectionName, partitionKeyValue);
+            }
 
-        results.forEach(d -> deleteDocument(d, partitionKeyName, collectionName, domainClass));
+            final Long count = deleteDocuments(query, domainClass, collectionName).count().block();
 
-        return results.stream()
-                .map(d -> getConverter().read(domainClass, d))
-                .collect(Collectors.toList());
+            return count == null ? 0 : count;
+        } catch (Exception e) {
+            throw new CosmosDBAccessException("delete exception", e);
+        }
+    }
+
+    /**
+     * @return the partition key value of a query which a stored procedure can delete, otherwise null
+     */
+    private Object getSinglePartitionKeyValue(DocumentQuery query, Class<?> domainClass) {
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
+
+        if (partitionKeyNames.size() != 1 || query.isLimited() || query.getPageable().isPaged()) {
+            return null;
+        }
+
+        return query.getPartitionKeyValue(partitionKeyNames.get(0))
+                .map(MappingCosmosConverter::toCosmosDbValue)
+                .orElse(null);
+    }
+
+    /**
+     * Execute the stored procedure which deletes the documents of the query within one partition, until it
+     * reports that no more documents match.
+     */
+    private long deleteByStoredProcedure(DocumentQuery query, Class<?> domainClass, String collectionName,
+                                         Object partitionKeyValue) {
+        final WriteBehindBuffer writeBehindBuffer = this.writeBehindBuffers.get(collectionName);
+
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush();
+        }
+
+        contentHashCache.evictAll(collectionName);
+        entityCache.evictAll(collectionName);
+        queryResultCache.invalidate(collectionName);
+
+        log.debug("execute delete by stored procedure in database {} collection {}", this.databaseName,
+            collectionName);
+
+        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        final CosmosStoredProcedureRequestOptions options = new CosmosStoredProcedureRequestOptions();
+        options.partitionKey(new PartitionKey(partitionKeyValue));
+
+        final CosmosContainer container = cosmosClient.getDatabase(this.databaseName).getContainer(collectionName);
+        final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+        long deleted = 0;
+        boolean hasMore = true;
+
+        try {
+            while (hasMore) {
+                final JsonNode result = BulkExecutor.retryThrottled(executeStoredProcedure(container,
+                        StoredProcedure.BULK_DELETE, new Object[]{sqlQuerySpec}, options), throttleRetryAttempts)
+                        .flatMap(response -> Mono.fromCallable(() -> mapper.readTree(response.responseAsString())))
+                        .block();
+
+                if (result == null) {
+                    throw new CosmosDBAccessException("Failed to delete documents of "
+                            + domainClass.getSimpleName());
+                }
+
+                deleted += result.path("deleted").asLong();
+                hasMore = result.path("continuation").asBoolean();
+            }
+        } finally {
+            entityCache.evictAll(collectionName);
+            queryResultCache.invalidate(collectionName);
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Stream the documents of the query into concurrent deletes, which are spread over the partitions.
+     * Documents which are already gone are skipped.
+     */
+    private Flux<CosmosItemProperties> deleteDocuments(DocumentQuery query, Class<?> domainClass,
+                                                       String collectionName) {
+        final WriteBehindBuffer writeBehindBuffer = this.writeBehindBuffers.get(collectionName);
+
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush();
+        }
+
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
+        Assert.isTrue(partitionKeyNames.size() <= 1, "Only one Partition is supported.");
+
+        return BulkExecutor.executeStream(findDocumentsFlux(query, domainClass, collectionName),
+            d -> getPartitionKey(d, partitionKeyNames), DELETE_WINDOW_SIZE, bulkConcurrency,
+            d -> deleteDocument(d, partitionKeyNames, collectionName, domainClass).thenReturn(d));
     }
 
     @Override
@@ -404,6 +1172,11 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         feedOptions.populateQueryMetrics(isPopulateQueryMetrics);
 
         final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        if (pageable instanceof CosmosOffsetPageRequest) {
+            return offsetPaginationQuery(query, sqlQuerySpec, feedOptions, domainClass, collectionName);
+        }
+
         final FeedResponse<CosmosItemProperties> feedResponse =
                 cosmosClient.getDatabase(this.databaseName)
                 .getContainer(collectionName)
@@ -427,7 +1200,7 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
                 continue;
             }
 
-            final T entity = mappingCosmosConverter.read(domainClass, cosmosItemProperties);
+            final T entity = toDomainObject(domainClass, cosmosItemProperties);
             result.add(entity);
         }
 
@@ -439,6 +1212,31 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         return new PageImpl<>(result, pageRequest, count(query, domainClass, collectionName));
     }
 
+    private <T> Page<T> offsetPaginationQuery(DocumentQuery query, SqlQuerySpec sqlQuerySpec, FeedOptions feedOptions,
+                                              Class<T> domainClass, String collectionName) {
+        final Pageable pageable = query.getPageable();
+
+        // The page may span several feed responses, which are read until the page is full
+        final List<T> result = cosmosClient.getDatabase(this.databaseName)
+                .getContainer(collectionName)
+                .queryItems(sqlQuerySpec, feedOptions)
+                .flatMap(cosmosItemFeedResponse -> {
+                    fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                        null, cosmosItemFeedResponse);
+                    return Flux.fromIterable(cosmosItemFeedResponse.results());
+                })
+                .take(pageable.getPageSize())
+                .map(cosmosItemProperties -> toDomainObject(domainClass, cosmosItemProperties))
+                .collectList()
+                .block();
+
+        if (result == null) {
+            throw new CosmosDBAccessException("Failed to query documents");
+        }
+
+        return new PageImpl<>(result, pageable, count(query, domainClass, collectionName));
+    }
+
     @Override
     public long count(String collectionName) {
         Assert.hasText(collectionName, "collectionName should not be empty");
@@ -462,7 +1260,8 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         if (count == null) {
             throw new CosmosDBAccessException("Failed to get count for collectionName: " + collectionName);
         }
-        return count;
+        // A limited query, such as of findTop3By, finds no more than its limit
+        return query.isLimited() ? Math.min(count, query.getLimit()) : count;
     }
 
     @Override
@@ -507,6 +1306,11 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         return Collections.singletonList(entityInfo.getPartitionKeyFieldName());
     }
 
+    private DocumentQuery createFindByIdQuery(Object id) {
+        return new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL, Constants.ID_PROPERTY_NAME,
+                Collections.singletonList(id.toString())));
+    }
+
     private void assertValidId(Object id) {
         Assert.notNull(id, "id should not be null");
         if (id instanceof String) {
@@ -517,14 +1321,31 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
     private List<CosmosItemProperties> findDocuments(@NonNull DocumentQuery query,
             @NonNull Class<?> domainClass,
             @NonNull String containerName) {
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        return findDocumentsFlux(query, domainClass, containerName).collectList().block();
+    }
+
+    private Flux<CosmosItemProperties> findDocumentsFlux(@NonNull DocumentQuery query,
+            @NonNull Class<?> domainClass,
+            @NonNull String containerName) {
+        return findDocumentsFlux(query, new FindQuerySpecGenerator().generateCosmos(query), domainClass,
+            containerName);
+    }
+
+    private Flux<CosmosItemProperties> findDocumentsFlux(@NonNull DocumentQuery query,
+            @NonNull SqlQuerySpec sqlQuerySpec,
+            @NonNull Class<?> domainClass,
+            @NonNull String containerName) {
         final boolean isCrossPartitionQuery =
                 query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
         final FeedOptions feedOptions = new FeedOptions();
         feedOptions.enableCrossPartitionQuery(isCrossPartitionQuery);
         feedOptions.populateQueryMetrics(isPopulateQueryMetrics);
 
-        return cosmosClient
+        if (query.isLimited()) {
+            feedOptions.maxItemCount(query.getLimit());
+        }
+
+        final Flux<CosmosItemProperties> results = cosmosClient
                 .getDatabase(this.databaseName)
                 .getContainer(containerName)
                 .queryItems(sqlQuerySpec, feedOptions)
@@ -532,41 +1353,58 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         null, cosmosItemFeedResponse);
                     return Flux.fromIterable(cosmosItemFeedResponse.results());
-                })
-                .collectList()
-                .block();
-    }
+                });
 
-    private CosmosItemResponse deleteDocument(@NonNull CosmosItemProperties cosmosItemProperties,
-            @NonNull List<String> partitionKeyNames,
-            String containerName,
-            @NonNull Class<?> domainClass) {
-        Assert.isTrue(partitionKeyNames.size() <= 1, "Only one Partition is supported.");
-
-        PartitionKey partitionKey = null;
+        // Stop requesting further pages once the limit is reached
+        return query.isLimited() ? results.take(query.getLimit()) : results;
+    }
 
+    private Object getPartitionKey(@NonNull CosmosItemProperties cosmosItemProperties,
+            @NonNull List<String> partitionKeyNames) {
         if (!partitionKeyNames.isEmpty() && StringUtils.hasText(partitionKeyNames.get(0))) {
-            partitionKey = new PartitionKey(cosmosItemProperties.get(partitionKeyNames.get(0)));
+            return cosmosItemProperties.get(partitionKeyNames.get(0));
         }
 
-        if (partitionKey == null) {
-            partitionKey = PartitionKey.None;
-        }
+        return null;
+    }
+
+    private Mono<CosmosItemResponse> deleteDocument(@NonNull CosmosItemProperties cosmosItemProperties,
+            @NonNull List<String> partitionKeyNames,
+            String containerName,
+            @NonNull Class<?> domainClass) {
+        final Object partitionKeyValue = getPartitionKey(cosmosItemProperties, partitionKeyNames);
+        final PartitionKey partitionKey = partitionKeyValue == null ? PartitionKey.None
+                : new PartitionKey(partitionKeyValue);
 
         final CosmosItemRequestOptions options = new CosmosItemRequestOptions(partitionKey);
         applyVersioning(domainClass, cosmosItemProperties, options);
+        contentHashCache.evict(containerName, cosmosItemProperties.id());
 
-        return cosmosClient
+        final Mono<CosmosItemResponse> request = cosmosClient
             .getDatabase(this.databaseName)
             .getContainer(containerName)
             .getItem(cosmosItemProperties.id(), partitionKey)
             .delete(options)
             .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                 response, null))
-            .block();
+            .doFinally(signal -> {
+                entityCache.evict(containerName, cosmosItemProperties.id(), partitionKey);
+                queryResultCache.invalidate(containerName);
+            });
+
+        return BulkExecutor.retryThrottled(request, throttleRetryAttempts)
+            .onErrorResume(e -> isNotFound(e) ? Mono.empty() : Mono.error(e));
+    }
+
+    private PartitionKey getDocumentPartitionKey(Class<?> domainClass, CosmosItemProperties document) {
+        final Object partitionKeyValue = getPartitionKey(document, getPartitionKeyNames(domainClass));
+
+        return partitionKeyValue == null ? PartitionKey.None : new PartitionKey(partitionKeyValue);
     }
 
     private <T> T toDomainObject(@NonNull Class<T> domainClass, CosmosItemProperties cosmosItemProperties) {
+        partialUpdateTracker.snapshot(domainClass, cosmosItemProperties);
+
         return mappingCosmosConverter.read(domainClass, cosmosItemProperties);
     }
 
@@ -575,13 +1413,31 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
             CosmosItemRequestOptions options) {
 
         if (entityInfoCreator.apply(domainClass).isVersioned()) {
-            final AccessCondition accessCondition = new AccessCondition();
-            accessCondition.type(AccessConditionType.IF_MATCH);
-            accessCondition.condition(cosmosItemProperties.etag());
-            options.accessCondition(accessCondition);
+            options.accessCondition(getAccessCondition(AccessConditionType.IF_MATCH, cosmosItemProperties.etag()));
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> String getPartitionKeyValue(T entity) {
+        return ((CosmosEntityInformation<T, ?>) entityInfoCreator.apply(entity.getClass()))
+                .getPartitionKeyFieldValue(entity);
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        if (iterable instanceof List) {
+            return (List<T>) iterable;
+        }
+
+        final List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+
+        return list;
+    }
+
+    private PartitionKey toPartitionKey(String partitionKeyValue) {
+        return StringUtils.isEmpty(partitionKeyValue) ? PartitionKey.None : new PartitionKey(partitionKeyValue);
+    }
+
     private CosmosEntityInformation<?, ?> getCosmosEntityInformation(Class<?> domainClass) {
         return new CosmosEntityInformation<>(domainClass);
     }
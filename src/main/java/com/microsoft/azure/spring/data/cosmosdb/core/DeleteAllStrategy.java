@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+/**
+ * How a delete of all documents of a collection empties the collection.
+ */
+public enum DeleteAllStrategy {
+
+    /**
+     * Query the documents and delete them one by one.
+     */
+    DELETE_DOCUMENTS,
+
+    /**
+     * Delete the collection and create it again with the same settings, which is much faster for large
+     * collections. The collection is missing for a moment, and its stored procedures, triggers and user defined
+     * functions other than the ones of this library are dropped.
+     */
+    RECREATE_CONTAINER
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentCached;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Second-level cache of the documents of {@link DocumentCached} classes, which the templates read through and
+ * write through. Implementations must be thread safe, the templates never change the documents they put or get.
+ *
+ * @see LruDocumentCache
+ */
+public interface DocumentCache {
+
+    /**
+     * @param key the document key
+     * @return the cached document, null when it is not cached or expired
+     */
+    @Nullable
+    CosmosItemProperties get(@NonNull DocumentCacheKey key);
+
+    /**
+     * Get an expired document, which the templates revalidate with an If-None-Match condition on its etag instead
+     * of reading it again. Caches which drop expired documents do not need to implement this.
+     *
+     * @param key the document key
+     * @return the expired document, null when it is not cached or not expired
+     */
+    @Nullable
+    default CosmosItemProperties getExpired(@NonNull DocumentCacheKey key) {
+        return null;
+    }
+
+    /**
+     * @param key        the document key
+     * @param document   the document as it was read or written
+     * @param timeToLive how long the document may be used
+     */
+    void put(@NonNull DocumentCacheKey key, @NonNull CosmosItemProperties document, @NonNull Duration timeToLive);
+
+    void evict(@NonNull DocumentCacheKey key);
+
+    void evictAll(@NonNull String collectionName);
+}
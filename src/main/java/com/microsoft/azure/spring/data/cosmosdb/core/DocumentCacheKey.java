@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Key of a document in a {@link DocumentCache}.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class DocumentCacheKey {
+
+    private final String collectionName;
+
+    private final String id;
+
+    /**
+     * JSON of the partition key value, empty for documents without partition key.
+     */
+    private final String partitionKey;
+}
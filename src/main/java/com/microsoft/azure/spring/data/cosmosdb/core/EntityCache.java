@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.AccessConditionType;
+import com.azure.data.cosmos.CosmosContainer;
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.CosmosItemRequestOptions;
+import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentCached;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.fillAndProcessResponseDiagnostics;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.getAccessCondition;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isNotModified;
+
+/**
+ * Reads and writes the documents of {@link DocumentCached} classes through a {@link DocumentCache}, and counts
+ * the hits, misses, evictions and revalidations per collection.
+ * <p>
+ * Every collection has a generation, which the puts and evictions of writes increment. A read only caches its
+ * document when no write of the collection happened since the read started, so that a read which is overtaken by a
+ * write does not put back the document the write replaced.
+ */
+final class EntityCache {
+
+    private static final Function<Class<?>, Optional<Duration>> TIME_TO_LIVE = Memoizer.memoize(domainClass ->
+            Optional.ofNullable(domainClass.getAnnotation(DocumentCached.class))
+                    .map(cached -> Duration.ofSeconds(cached.timeToLiveSeconds())));
+
+    private final DocumentCache cache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * @param config the config of the cache, which is a {@link LruDocumentCache} or an {@link OffHeapDocumentCache}
+     *               unless a cache is given
+     */
+    EntityCache(@NonNull CosmosDBConfig config) {
+        this.meterRegistry = config.getMeterRegistry();
+
+        final Consumer<DocumentCacheKey> evictionListener = key -> count(Constants.METRIC_CACHE_EVICTIONS,
+            "Number of documents dropped from the cache", key.getCollectionName());
+
+        if (config.getDocumentCache() != null) {
+            this.cache = config.getDocumentCache();
+        } else if (config.getDocumentCacheOffHeapBytes() > 0) {
+            this.cache = new OffHeapDocumentCache(config.getDocumentCacheOffHeapBytes(),
+                OffHeapDocumentCache.DEFAULT_SEGMENTS, OffHeapDocumentCache.DEFAULT_BLOCK_SIZE, Clock.systemUTC(),
+                evictionListener);
+        } else {
+            this.cache = new LruDocumentCache(config.getDocumentCacheCapacity(), Clock.systemUTC(),
+                evictionListener);
+        }
+    }
+
+    boolean isCached(@NonNull Class<?> domainClass) {
+        return TIME_TO_LIVE.apply(domainClass).isPresent();
+    }
+
+    /**
+     * Point read a document through the cache. A cached document is returned as is, an expired one is read with an
+     * If-None-Match condition on its etag and reused when the service reports that it is not modified.
+     *
+     * @param domainClass                  the domain class, documents of other classes are always read
+     * @param container                    the container
+     * @param id                           the document id
+     * @param partitionKey                 the partition key
+     * @param responseDiagnosticsProcessor the processor of the read diagnostics
+     * @return the document, empty when the response has none
+     */
+    Mono<CosmosItemProperties> read(@NonNull Class<?> domainClass, @NonNull CosmosContainer container,
+                                    @NonNull Object id, @NonNull PartitionKey partitionKey,
+                                    @Nullable ResponseDiagnosticsProcessor responseDiagnosticsProcessor) {
+        final String collectionName = container.id();
+        final long generation = getGeneration(collectionName).get();
+        final CosmosItemProperties cached = get(domainClass, collectionName, id, partitionKey);
+
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        final CosmosItemProperties expired = isCached(domainClass)
+                ? this.cache.getExpired(getKey(collectionName, id, partitionKey)) : null;
+        final CosmosItemRequestOptions options = new CosmosItemRequestOptions(partitionKey);
+
+        if (expired != null && expired.etag() != null) {
+            options.accessCondition(getAccessCondition(AccessConditionType.IF_NONE_MATCH, expired.etag()));
+        }
+
+        return container.getItem(id.toString(), partitionKey)
+                .read(options)
+                .flatMap(response -> {
+                    fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor, response, null);
+
+                    if (expired != null && isNotModified(response)) {
+                        return Mono.just(revalidated(domainClass, collectionName, partitionKey, expired,
+                            generation));
+                    }
+
+                    if (response.properties() != null) {
+                        putRead(domainClass, collectionName, partitionKey, response.properties(), generation);
+                    }
+
+                    return Mono.justOrEmpty(response.properties());
+                })
+                .onErrorResume(e -> expired != null && isNotModified(e)
+                        ? Mono.just(revalidated(domainClass, collectionName, partitionKey, expired, generation))
+                        : Mono.error(e));
+    }
+
+    /**
+     * @return the cached document, null when it is not cached or its domain class is not cached at all
+     */
+    @Nullable
+    CosmosItemProperties get(@NonNull Class<?> domainClass, @NonNull String collectionName, @NonNull Object id,
+                             @Nullable PartitionKey partitionKey) {
+        if (!isCached(domainClass)) {
+            return null;
+        }
+
+        final CosmosItemProperties document = this.cache.get(getKey(collectionName, id, partitionKey));
+
+        if (document == null) {
+            count(Constants.METRIC_CACHE_MISSES, "Number of reads by id which are not found in the cache",
+                collectionName);
+        } else {
+            count(Constants.METRIC_CACHE_HITS, "Number of reads by id which are served from the cache",
+                collectionName);
+        }
+
+        return document;
+    }
+
+    /**
+     * Cache the document as it was written, if its domain class is cached.
+     */
+    void put(@NonNull Class<?> domainClass, @NonNull String collectionName, @Nullable PartitionKey partitionKey,
+             @NonNull CosmosItemProperties document) {
+        final AtomicLong generation = getGeneration(collectionName);
+
+        synchronized (generation) {
+            generation.incrementAndGet();
+            cache(domainClass, collectionName, partitionKey, document);
+        }
+    }
+
+    void evict(@NonNull String collectionName, @NonNull Object id, @Nullable PartitionKey partitionKey) {
+        final AtomicLong generation = getGeneration(collectionName);
+
+        synchronized (generation) {
+            generation.incrementAndGet();
+            this.cache.evict(getKey(collectionName, id, partitionKey));
+        }
+    }
+
+    void evictAll(@NonNull String collectionName) {
+        final AtomicLong generation = getGeneration(collectionName);
+
+        synchronized (generation) {
+            generation.incrementAndGet();
+            this.cache.evictAll(collectionName);
+        }
+    }
+
+    /**
+     * Cache the document as it was read, unless the collection was written since the read started.
+     */
+    private void putRead(Class<?> domainClass, String collectionName, PartitionKey partitionKey,
+                         CosmosItemProperties document, long readGeneration) {
+        final AtomicLong generation = getGeneration(collectionName);
+
+        synchronized (generation) {
+            if (generation.get() == readGeneration) {
+                cache(domainClass, collectionName, partitionKey, document);
+            }
+        }
+    }
+
+    private void cache(Class<?> domainClass, String collectionName, PartitionKey partitionKey,
+                       CosmosItemProperties document) {
+        final Optional<Duration> timeToLive = TIME_TO_LIVE.apply(domainClass);
+
+        if (timeToLive.isPresent() && document.id() != null) {
+            this.cache.put(getKey(collectionName, document.id(), partitionKey), document, timeToLive.get());
+        }
+    }
+
+    private CosmosItemProperties revalidated(Class<?> domainClass, String collectionName, PartitionKey partitionKey,
+                                             CosmosItemProperties document, long readGeneration) {
+        count(Constants.METRIC_CACHE_REVALIDATIONS, "Number of expired documents which are not modified",
+            collectionName);
+        putRead(domainClass, collectionName, partitionKey, document, readGeneration);
+
+        return document;
+    }
+
+    private AtomicLong getGeneration(String collectionName) {
+        return this.generations.computeIfAbsent(collectionName, name -> new AtomicLong());
+    }
+
+    static DocumentCacheKey getKey(String collectionName, Object id, @Nullable PartitionKey partitionKey) {
+        final boolean isNone = partitionKey == null || PartitionKey.None.equals(partitionKey);
+
+        return new DocumentCacheKey(collectionName, id.toString(), isNone ? "" : partitionKey.toString());
+    }
+
+    private void count(String name, String description, String collectionName) {
+        Counter.builder(name)
+               .description(description)
+               .tag(Constants.METRIC_TAG_COLLECTION, collectionName)
+               .register(this.meterRegistry)
+               .increment();
+    }
+}
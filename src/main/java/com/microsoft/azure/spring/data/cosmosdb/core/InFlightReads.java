@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the reads in flight, so that identical reads which run concurrently share one request instead of
+ * sending it once per caller.
+ * <p>
+ * A read joins a request in flight with the same key and the same generation of the collection, which a write
+ * through the template increments, so a read never joins a request which started before a write of its caller. The
+ * request is not cancelled when one of the callers cancels, and it is dropped from the registry once it completes.
+ * Callers share the documents of the response, and convert them to their own entities.
+ */
+final class InFlightReads {
+
+    private final Map<List<Object>, Mono<?>> requests = new ConcurrentHashMap<>();
+    private final boolean isEnabled;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param isEnabled     whether reads are coalesced, otherwise every read sends its own request
+     * @param meterRegistry the registry of the coalesced reads counter
+     */
+    InFlightReads(boolean isEnabled, @NonNull MeterRegistry meterRegistry) {
+        this.isEnabled = isEnabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return whether reads are coalesced, callers need no read keys otherwise
+     */
+    boolean isEnabled() {
+        return this.isEnabled;
+    }
+
+    /**
+     * Join the request in flight with the same key and generation, or send a new one.
+     *
+     * @param collectionName the collection of the read
+     * @param generation     the generation of the collection when the read started
+     * @param key            the key of the read, such as its document key or query key
+     * @param request        sends the request
+     * @return Mono with the shared response
+     */
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> read(@NonNull String collectionName, long generation, @NonNull Object key,
+                     @NonNull Supplier<Mono<T>> request) {
+        if (!this.isEnabled) {
+            return Mono.defer(request);
+        }
+
+        final List<Object> requestKey = Arrays.asList(collectionName, generation, key);
+
+        return Mono.defer(() -> {
+            final Mono<T> inFlight = (Mono<T>) this.requests.get(requestKey);
+
+            if (inFlight != null) {
+                return coalesced(collectionName, inFlight);
+            }
+
+            final Mono<T> shared = Mono.defer(request)
+                                       .doFinally(signal -> this.requests.remove(requestKey))
+                                       .cache();
+            final Mono<T> existing = (Mono<T>) this.requests.putIfAbsent(requestKey, shared);
+
+            return existing == null ? shared : coalesced(collectionName, existing);
+        });
+    }
+
+    private <T> Mono<T> coalesced(String collectionName, Mono<T> inFlight) {
+        Counter.builder(Constants.METRIC_COALESCED_READS)
+               .description("Number of reads which joined an identical request in flight")
+               .tag(Constants.METRIC_TAG_COLLECTION, collectionName)
+               .register(this.meterRegistry)
+               .increment();
+
+        return inFlight;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-memory {@link DocumentCache}, which drops the least recently used document once the maximum size is reached.
+ * Expired documents are kept for a revalidation until they are dropped, or replaced by a put.
+ */
+public class LruDocumentCache implements DocumentCache {
+
+    private final Map<DocumentCacheKey, Entry> entries;
+    private final Clock clock;
+    private final Consumer<DocumentCacheKey> evictionListener;
+
+    /**
+     * @param maximumSize the maximum number of documents
+     */
+    public LruDocumentCache(int maximumSize) {
+        this(maximumSize, Clock.systemUTC(), key -> {
+        });
+    }
+
+    /**
+     * @param maximumSize      the maximum number of documents
+     * @param clock            the clock of the expiry
+     * @param evictionListener called with the key of every document which is dropped for size
+     */
+    public LruDocumentCache(int maximumSize, @NonNull Clock clock,
+                            @NonNull Consumer<DocumentCacheKey> evictionListener) {
+        Assert.isTrue(maximumSize > 0, "maximumSize should be larger than 0");
+        Assert.notNull(clock, "clock should not be null");
+        Assert.notNull(evictionListener, "evictionListener should not be null");
+
+        this.clock = clock;
+        this.entries = new LinkedHashMap<DocumentCacheKey, Entry>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DocumentCacheKey, Entry> eldest) {
+                if (size() <= maximumSize) {
+                    return false;
+                }
+
+                evictionListener.accept(eldest.getKey());
+                return true;
+            }
+        };
+        this.evictionListener = evictionListener;
+    }
+
+    @Nullable
+    @Override
+    public CosmosItemProperties get(@NonNull DocumentCacheKey key) {
+        synchronized (this.entries) {
+            final Entry entry = this.entries.get(key);
+
+            return entry == null || isExpired(entry) ? null : entry.document;
+        }
+    }
+
+    @Nullable
+    @Override
+    public CosmosItemProperties getExpired(@NonNull DocumentCacheKey key) {
+        synchronized (this.entries) {
+            final Entry entry = this.entries.get(key);
+
+            return entry != null && isExpired(entry) ? entry.document : null;
+        }
+    }
+
+    @Override
+    public void put(@NonNull DocumentCacheKey key, @NonNull CosmosItemProperties document,
+                    @NonNull Duration timeToLive) {
+        synchronized (this.entries) {
+            this.entries.put(key, new Entry(document, this.clock.millis() + timeToLive.toMillis()));
+        }
+    }
+
+    @Override
+    public void evict(@NonNull DocumentCacheKey key) {
+        synchronized (this.entries) {
+            this.entries.remove(key);
+        }
+    }
+
+    @Override
+    public void evictAll(@NonNull String collectionName) {
+        synchronized (this.entries) {
+            this.entries.keySet().removeIf(key -> key.getCollectionName().equals(collectionName));
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.expiresAt <= this.clock.millis();
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final CosmosItemProperties document;
+        private final long expiresAt;
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link DocumentCache} which keeps the JSON of the documents in direct buffers outside of the Java heap, so that a
+ * large cache neither grows the old generation nor lengthens garbage collection pauses. Documents are parsed again
+ * on every hit.
+ * <p>
+ * The memory is split into segments with their own lock and least recently used index, and every segment into
+ * blocks of a fixed size. A document takes as many blocks as its JSON needs, and the least recently used documents
+ * of the segment are dropped until enough blocks are free. Expired documents are kept for a revalidation until they
+ * are dropped, or replaced by a put. Only the keys and the block lists stay on the heap.
+ */
+public class OffHeapDocumentCache implements DocumentCache {
+
+    static final int DEFAULT_SEGMENTS = 16;
+    static final int DEFAULT_BLOCK_SIZE = 512;
+
+    private final Segment[] segments;
+    private final Clock clock;
+    private final Consumer<DocumentCacheKey> evictionListener;
+
+    /**
+     * @param capacityBytes the off-heap memory of the cache
+     */
+    public OffHeapDocumentCache(long capacityBytes) {
+        this(capacityBytes, DEFAULT_SEGMENTS, DEFAULT_BLOCK_SIZE, Clock.systemUTC(), key -> {
+        });
+    }
+
+    /**
+     * @param capacityBytes    the off-heap memory of the cache, split evenly over the segments
+     * @param segments         the number of segments, which can be used concurrently
+     * @param blockSize        the size of the blocks the memory of a segment is allocated in
+     * @param clock            the clock of the expiry
+     * @param evictionListener called with the key of every document which is dropped for size
+     */
+    public OffHeapDocumentCache(long capacityBytes, int segments, int blockSize, @NonNull Clock clock,
+                                @NonNull Consumer<DocumentCacheKey> evictionListener) {
+        Assert.isTrue(segments > 0, "segments should be larger than 0");
+        Assert.isTrue(blockSize > 0, "blockSize should be larger than 0");
+        Assert.isTrue(capacityBytes / segments >= blockSize, "capacityBytes should fit a block per segment");
+        Assert.isTrue(capacityBytes / segments <= Integer.MAX_VALUE, "capacityBytes of a segment is too large");
+        Assert.notNull(clock, "clock should not be null");
+        Assert.notNull(evictionListener, "evictionListener should not be null");
+
+        this.segments = new Segment[segments];
+        this.clock = clock;
+        this.evictionListener = evictionListener;
+
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = new Segment((int) (capacityBytes / segments / blockSize), blockSize);
+        }
+    }
+
+    @Nullable
+    @Override
+    public CosmosItemProperties get(@NonNull DocumentCacheKey key) {
+        return toDocument(getSegment(key).read(key, false));
+    }
+
+    @Nullable
+    @Override
+    public CosmosItemProperties getExpired(@NonNull DocumentCacheKey key) {
+        return toDocument(getSegment(key).read(key, true));
+    }
+
+    @Override
+    public void put(@NonNull DocumentCacheKey key, @NonNull CosmosItemProperties document,
+                    @NonNull Duration timeToLive) {
+        final byte[] json = document.toJson().getBytes(StandardCharsets.UTF_8);
+
+        getSegment(key).write(key, json, this.clock.millis() + timeToLive.toMillis());
+    }
+
+    @Override
+    public void evict(@NonNull DocumentCacheKey key) {
+        getSegment(key).remove(key);
+    }
+
+    @Override
+    public void evictAll(@NonNull String collectionName) {
+        for (final Segment segment : this.segments) {
+            segment.removeAll(collectionName);
+        }
+    }
+
+    private Segment getSegment(DocumentCacheKey key) {
+        return this.segments[(key.hashCode() & Integer.MAX_VALUE) % this.segments.length];
+    }
+
+    @Nullable
+    private static CosmosItemProperties toDocument(@Nullable byte[] json) {
+        return json == null ? null : new CosmosItemProperties(new String(json, StandardCharsets.UTF_8));
+    }
+
+    @AllArgsConstructor
+    private static final class Slot {
+        private final int[] blocks;
+        private final int length;
+        private final long expiresAt;
+    }
+
+    private final class Segment {
+        private final ByteBuffer memory;
+        private final int blockSize;
+        private final int[] freeBlocks;
+        private int freeCount;
+        private final LinkedHashMap<DocumentCacheKey, Slot> index = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(int blocks, int blockSize) {
+            this.memory = ByteBuffer.allocateDirect(blocks * blockSize);
+            this.blockSize = blockSize;
+            this.freeBlocks = new int[blocks];
+            this.freeCount = blocks;
+
+            for (int i = 0; i < blocks; i++) {
+                this.freeBlocks[i] = blocks - 1 - i;
+            }
+        }
+
+        synchronized byte[] read(DocumentCacheKey key, boolean expired) {
+            final Slot slot = this.index.get(key);
+
+            if (slot == null || (slot.expiresAt <= clock.millis()) != expired) {
+                return null;
+            }
+
+            final byte[] json = new byte[slot.length];
+
+            for (int i = 0, offset = 0; offset < slot.length; i++, offset += this.blockSize) {
+                this.memory.position(slot.blocks[i] * this.blockSize);
+                this.memory.get(json, offset, Math.min(this.blockSize, slot.length - offset));
+            }
+
+            return json;
+        }
+
+        synchronized void write(DocumentCacheKey key, byte[] json, long expiresAt) {
+            remove(key);
+
+            final int needed = (json.length + this.blockSize - 1) / this.blockSize;
+
+            if (needed > this.freeBlocks.length) {
+                return;
+            }
+
+            final Iterator<Map.Entry<DocumentCacheKey, Slot>> eldest = this.index.entrySet().iterator();
+
+            while (this.freeCount < needed) {
+                final Map.Entry<DocumentCacheKey, Slot> entry = eldest.next();
+
+                eldest.remove();
+                free(entry.getValue());
+                evictionListener.accept(entry.getKey());
+            }
+
+            final int[] blocks = new int[needed];
+
+            for (int i = 0, offset = 0; i < needed; i++, offset += this.blockSize) {
+                blocks[i] = this.freeBlocks[--this.freeCount];
+                this.memory.position(blocks[i] * this.blockSize);
+                this.memory.put(json, offset, Math.min(this.blockSize, json.length - offset));
+            }
+
+            this.index.put(key, new Slot(blocks, json.length, expiresAt));
+        }
+
+        synchronized void remove(DocumentCacheKey key) {
+            final Slot slot = this.index.remove(key);
+
+            if (slot != null) {
+                free(slot);
+            }
+        }
+
+        synchronized void removeAll(String collectionName) {
+            final Iterator<Map.Entry<DocumentCacheKey, Slot>> entries = this.index.entrySet().iterator();
+
+            while (entries.hasNext()) {
+                final Map.Entry<DocumentCacheKey, Slot> entry = entries.next();
+
+                if (entry.getKey().getCollectionName().equals(collectionName)) {
+                    entries.remove();
+                    free(entry.getValue());
+                }
+            }
+        }
+
+        private void free(Slot slot) {
+            for (final int block : slot.blocks) {
+                this.freeBlocks[this.freeCount++] = block;
+            }
+        }
+    }
+}
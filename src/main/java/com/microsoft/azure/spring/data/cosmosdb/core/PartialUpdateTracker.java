@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentPartialUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps snapshots of the documents of {@link DocumentPartialUpdate} classes as they were read, and computes the
+ * field operations which turn a snapshot into the document of an upsert.
+ * <p>
+ * Snapshots are keyed by domain class, id and etag, and the least recently used ones are dropped once the
+ * capacity is reached. A snapshot is used by at most one upsert.
+ */
+@Slf4j
+final class PartialUpdateTracker {
+
+    private static final Set<String> SYSTEM_FIELDS = Collections.unmodifiableSet(new HashSet<>(
+            Arrays.asList("_rid", "_self", "_etag", "_attachments", "_ts")));
+
+    private static final String PATH = "path";
+    private static final String VALUE = "value";
+    private static final String REMOVE = "remove";
+
+    private static final Function<Class<?>, Boolean> IS_TRACKED = Memoizer.memoize(domainClass ->
+            domainClass.isAnnotationPresent(DocumentPartialUpdate.class)
+                    && CosmosEntityCodec.of(domainClass).isVersioned());
+
+    private final Map<List<Object>, ObjectNode> snapshots;
+
+    /**
+     * @param capacity the maximum number of snapshots
+     */
+    PartialUpdateTracker(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity should be larger than 0");
+
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<List<Object>, ObjectNode>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, ObjectNode> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    boolean isTracked(@NonNull Class<?> domainClass) {
+        return IS_TRACKED.apply(domainClass);
+    }
+
+    /**
+     * Keep a snapshot of the read document, if its domain class is tracked.
+     *
+     * @param domainClass the domain class
+     * @param document    the document as it was read
+     */
+    void snapshot(@NonNull Class<?> domainClass, @NonNull CosmosItemProperties document) {
+        if (!isTracked(domainClass) || document.etag() == null) {
+            return;
+        }
+
+        final ObjectNode node = parse(document);
+
+        if (node != null) {
+            this.snapshots.put(getKey(domainClass, document.id(), document.etag()), node);
+        }
+    }
+
+    /**
+     * Compute the operations which turn the snapshot of the document's etag into the document.
+     *
+     * @param domainClass the domain class
+     * @param document    the document to upsert, with the etag of the snapshot it is based on
+     * @return the operations, null when there is no snapshot, nothing changed or the operations are not much
+     * smaller than the document
+     */
+    @Nullable
+    ArrayNode diff(@NonNull Class<?> domainClass, @NonNull CosmosItemProperties document) {
+        if (!isTracked(domainClass) || document.etag() == null) {
+            return null;
+        }
+
+        final ObjectNode snapshot = this.snapshots.remove(getKey(domainClass, document.id(), document.etag()));
+        final ObjectNode current = snapshot == null ? null : parse(document);
+
+        if (current == null) {
+            return null;
+        }
+
+        final ArrayNode operations = ObjectMapperFactory.getObjectMapper().createArrayNode();
+        diff(snapshot, current, new ArrayList<>(), operations);
+
+        if (operations.size() == 0 || operations.toString().length() * 2 > current.toString().length()) {
+            return null;
+        }
+
+        return operations;
+    }
+
+    private static void diff(ObjectNode before, ObjectNode after, List<String> path, ArrayNode operations) {
+        final Iterator<Map.Entry<String, JsonNode>> fields = after.fields();
+
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+
+            if (path.isEmpty() && SYSTEM_FIELDS.contains(field.getKey())) {
+                continue;
+            }
+
+            final JsonNode previous = before.get(field.getKey());
+
+            if (previous != null && previous.equals(field.getValue())) {
+                continue;
+            }
+
+            path.add(field.getKey());
+
+            if (previous != null && previous.isObject() && field.getValue().isObject()) {
+                diff((ObjectNode) previous, (ObjectNode) field.getValue(), path, operations);
+            } else {
+                addOperation(operations, path).set(VALUE, field.getValue());
+            }
+
+            path.remove(path.size() - 1);
+        }
+
+        final Iterator<String> names = before.fieldNames();
+
+        while (names.hasNext()) {
+            final String name = names.next();
+
+            if (!after.has(name) && !(path.isEmpty() && SYSTEM_FIELDS.contains(name))) {
+                path.add(name);
+                addOperation(operations, path).put(REMOVE, true);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    private static ObjectNode addOperation(ArrayNode operations, List<String> path) {
+        final ObjectNode operation = operations.addObject();
+        final ArrayNode pathNode = operation.putArray(PATH);
+
+        path.forEach(pathNode::add);
+
+        return operation;
+    }
+
+    private static List<Object> getKey(Class<?> domainClass, String id, String etag) {
+        return Arrays.asList(domainClass, id, etag);
+    }
+
+    @Nullable
+    private static ObjectNode parse(CosmosItemProperties document) {
+        final ObjectMapper mapper = ObjectMapperFactory.getObjectMapper();
+
+        try {
+            final JsonNode node = mapper.readTree(document.toJson());
+            return node.isObject() ? (ObjectNode) node : null;
+        } catch (IOException e) {
+            log.debug("Failed to parse document {}", document.id(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the documents found by the queries of {@link DocumentQuery#withCache(Duration)}, keyed by collection, query
+ * spec and limit.
+ * <p>
+ * Every collection has a generation, which a write through the template increments. Results of an older
+ * generation are not served, and results of a query which started before a write are not cached. The least
+ * recently used results are dropped once the total weight, the number of cached documents, is reached.
+ */
+final class QueryResultCache {
+
+    private final Map<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final int maxWeight;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private long weight;
+
+    /**
+     * @param maxWeight     the maximum number of cached documents
+     * @param clock         the clock of the expiry
+     * @param meterRegistry the registry of the hit and miss counters
+     */
+    QueryResultCache(int maxWeight, @NonNull Clock clock, @NonNull MeterRegistry meterRegistry) {
+        Assert.isTrue(maxWeight > 0, "maxWeight should be larger than 0");
+
+        this.maxWeight = maxWeight;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static List<Object> getKey(@NonNull String collectionName, @NonNull SqlQuerySpec querySpec,
+                               @NonNull DocumentQuery query) {
+        return Arrays.asList(collectionName, querySpec.toJson(), query.getLimit());
+    }
+
+    /**
+     * @return the current generation of the collection, which is given to the put of a query result
+     */
+    long getGeneration(@NonNull String collectionName) {
+        return getGenerationCounter(collectionName).get();
+    }
+
+    /**
+     * @return the cached documents, null when they are not cached, expired or older than a write
+     */
+    @Nullable
+    List<CosmosItemProperties> get(@NonNull List<Object> key) {
+        final String collectionName = (String) key.get(0);
+        final long generation = getGeneration(collectionName);
+        final Entry entry;
+
+        synchronized (this.entries) {
+            final Entry cached = this.entries.get(key);
+            final boolean isValid = cached != null && cached.generation == generation
+                    && cached.expiresAt > this.clock.millis();
+
+            if (cached != null && !isValid) {
+                remove(key);
+            }
+
+            entry = isValid ? cached : null;
+        }
+
+        if (entry == null) {
+            count(Constants.METRIC_QUERY_CACHE_MISSES, "Number of cached queries which are executed",
+                collectionName);
+            return null;
+        }
+
+        count(Constants.METRIC_QUERY_CACHE_HITS, "Number of cached queries which are served from the cache",
+            collectionName);
+        return entry.documents;
+    }
+
+    /**
+     * Cache the documents of a query, unless the collection was written since the query started.
+     *
+     * @param key        the query key
+     * @param generation the generation of the collection when the query started
+     * @param documents  the documents of the query
+     * @param timeToLive how long the documents may be served
+     */
+    void put(@NonNull List<Object> key, long generation, @NonNull List<CosmosItemProperties> documents,
+             @NonNull Duration timeToLive) {
+        final int entryWeight = Math.max(1, documents.size());
+
+        if (entryWeight > this.maxWeight || generation != getGeneration((String) key.get(0))) {
+            return;
+        }
+
+        synchronized (this.entries) {
+            remove(key);
+
+            final Iterator<Map.Entry<List<Object>, Entry>> eldest = this.entries.entrySet().iterator();
+
+            while (this.weight + entryWeight > this.maxWeight) {
+                this.weight -= eldest.next().getValue().weight;
+                eldest.remove();
+            }
+
+            this.entries.put(key, new Entry(Collections.unmodifiableList(documents), generation,
+                this.clock.millis() + timeToLive.toMillis(), entryWeight));
+            this.weight += entryWeight;
+        }
+    }
+
+    /**
+     * Drop the cached results of the collection, because it is written.
+     */
+    void invalidate(@NonNull String collectionName) {
+        getGenerationCounter(collectionName).incrementAndGet();
+    }
+
+    private AtomicLong getGenerationCounter(String collectionName) {
+        return this.generations.computeIfAbsent(collectionName, name -> new AtomicLong());
+    }
+
+    private void remove(List<Object> key) {
+        final Entry entry = this.entries.remove(key);
+
+        if (entry != null) {
+            this.weight -= entry.weight;
+        }
+    }
+
+    private void count(String name, String description, String collectionName) {
+        Counter.builder(name)
+               .description(description)
+               .tag(Constants.METRIC_TAG_COLLECTION, collectionName)
+               .register(this.meterRegistry)
+               .increment();
+    }
+
+    @AllArgsConstructor
+    private static final class Entry {
+        private final List<CosmosItemProperties> documents;
+        private final long generation;
+        private final long expiresAt;
+        private final int weight;
+    }
+}
@@ -11,6 +11,7 @@ import com.azure.data.cosmos.PartitionKey;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -34,20 +35,31 @@ public interface ReactiveCosmosOperations {
 
     <T> Mono<T> insert(String collectionName, Object objectToSave, PartitionKey partitionKey);
 
+    <T> Mono<T> insert(String collectionName, T objectToSave, PartitionKey partitionKey,
+                       WriteResponseMode responseMode);
+
     <T> Mono<T> upsert(T object, PartitionKey partitionKey);
 
     <T> Mono<T> upsert(String collectionName, T object, PartitionKey partitionKey);
 
+    <T> Mono<T> upsert(String collectionName, T object, PartitionKey partitionKey, WriteResponseMode responseMode);
+
     Mono<Void> deleteById(String collectionName, Object id, PartitionKey partitionKey);
 
     Mono<Void> deleteAll(String collectionName, String partitionKey);
 
     void deleteContainer(String collectionName);
 
+    Mono<Void> truncateContainer(String collectionName);
+
     <T> Flux<T> delete(DocumentQuery query, Class<T> entityClass, String collectionName);
 
     <T> Flux<T> find(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    <T, ID> Flux<T> findByIds(Publisher<ID> ids, Class<T> entityClass, String collectionName, boolean preserveOrder);
+
+    <T> Flux<T> find(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String collectionName);
+
     Mono<Boolean> exists(DocumentQuery query, Class<?> entityClass, String collectionName);
 
     Mono<Boolean> existsById(Object id, Class<?> entityClass, String containerName);
@@ -10,20 +10,26 @@ import com.azure.data.cosmos.CosmosClient;
 import com.azure.data.cosmos.CosmosContainerResponse;
 import com.azure.data.cosmos.CosmosItemProperties;
 import com.azure.data.cosmos.CosmosItemRequestOptions;
+import com.azure.data.cosmos.CosmosItemResponse;
 import com.azure.data.cosmos.FeedOptions;
 import com.azure.data.cosmos.FeedResponse;
 import com.azure.data.cosmos.PartitionKey;
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.CountQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.BeansException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -33,11 +39,17 @@ import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.fillAndProcessResponseDiagnostics;
+import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.isNotFound;
 
 @Slf4j
 public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, ApplicationContextAware {
@@ -49,9 +61,20 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     private final CosmosClient cosmosClient;
     private final ResponseDiagnosticsProcessor responseDiagnosticsProcessor;
     private final boolean isPopulateQueryMetrics;
+    private final int findByIdsChunkSize;
+    private final int findByIdsConcurrency;
+
+    private final WriteResponseMode writeResponseMode;
+    private final DeleteAllStrategy deleteAllStrategy;
+    private final EntityCache entityCache;
+    private final QueryResultCache queryResultCache;
+    private final InFlightReads inFlightReads;
 
     private final List<String> collectionCache;
 
+    private final Function<Class<?>, CosmosEntityInformation<?, ?>> entityInfoCreator =
+            Memoizer.memoize(this::getCosmosEntityInformation);
+
     /**
      * Constructor
      *
@@ -72,6 +95,15 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         this.cosmosClient = cosmosDbFactory.getCosmosClient();
         this.responseDiagnosticsProcessor = cosmosDbFactory.getConfig().getResponseDiagnosticsProcessor();
         this.isPopulateQueryMetrics = cosmosDbFactory.getConfig().isPopulateQueryMetrics();
+        this.findByIdsChunkSize = cosmosDbFactory.getConfig().getFindByIdsChunkSize();
+        this.findByIdsConcurrency = cosmosDbFactory.getConfig().getFindByIdsConcurrency();
+        this.writeResponseMode = cosmosDbFactory.getConfig().getWriteResponseMode();
+        this.deleteAllStrategy = cosmosDbFactory.getConfig().getDeleteAllStrategy();
+        this.entityCache = new EntityCache(cosmosDbFactory.getConfig());
+        this.queryResultCache = new QueryResultCache(cosmosDbFactory.getConfig().getQueryCacheMaxWeight(),
+            Clock.systemUTC(), cosmosDbFactory.getConfig().getMeterRegistry());
+        this.inFlightReads = new InFlightReads(cosmosDbFactory.getConfig().isCoalesceReads(),
+            cosmosDbFactory.getConfig().getMeterRegistry());
     }
 
     /**
@@ -162,7 +194,16 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         Assert.notNull(entityClass, "entityClass should not be null");
         assertValidId(id);
 
-        final String query = String.format("select * from root where root.id = '%s'", id.toString());
+        final PartitionKey partitionKey = entityInfoCreator.apply(entityClass).getPartitionKeyOfId(id);
+
+        if (partitionKey != null) {
+            return readItem(containerName, id, entityClass, partitionKey)
+                .onErrorResume(e -> isNotFound(e) ? Mono.empty() : databaseAccessExceptionHandler(e));
+        }
+
+        final SqlQuerySpec query = new FindQuerySpecGenerator().generateCosmos(new DocumentQuery(
+            Criteria.getInstance(CriteriaType.IS_EQUAL, Constants.ID_PROPERTY_NAME,
+                Collections.singletonList(id.toString()))));
         final FeedOptions options = new FeedOptions();
         options.enableCrossPartitionQuery(true);
         options.populateQueryMetrics(isPopulateQueryMetrics);
@@ -197,17 +238,23 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         assertValidId(id);
 
         final String containerName = getContainerName(entityClass);
-        return cosmosClient.getDatabase(databaseName)
-                           .getContainer(containerName)
-                           .getItem(id.toString(), partitionKey)
-                           .read()
-                           .flatMap(cosmosItemResponse -> {
-                               fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                                   cosmosItemResponse, null);
-                               return Mono.justOrEmpty(toDomainObject(entityClass,
-                                   cosmosItemResponse.properties()));
-                           })
-                           .onErrorResume(this::databaseAccessExceptionHandler);
+        return readItem(containerName, id, entityClass, partitionKey)
+            .onErrorResume(this::databaseAccessExceptionHandler);
+    }
+
+    /**
+     * Read an item through the document cache, sharing the read with identical reads in flight.
+     */
+    private <T> Mono<T> readItem(String containerName, Object id, Class<T> entityClass, PartitionKey partitionKey) {
+        final Supplier<Mono<CosmosItemProperties>> read = () -> entityCache.read(entityClass,
+            cosmosClient.getDatabase(databaseName).getContainer(containerName), id, partitionKey,
+            responseDiagnosticsProcessor);
+
+        return Mono.defer(() -> inFlightReads.isEnabled()
+            ? inFlightReads.read(containerName, queryResultCache.getGeneration(containerName),
+                Arrays.asList(entityClass, EntityCache.getKey(containerName, id, partitionKey)), read)
+            : read.get())
+                   .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties));
     }
 
     /**
@@ -233,14 +280,18 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         Assert.notNull(objectToSave, "objectToSave should not be null");
 
         final Class<T> domainClass = (Class<T>) objectToSave.getClass();
+        final String containerName = getContainerName(domainClass);
         return cosmosClient.getDatabase(this.databaseName)
-                .getContainer(getContainerName(objectToSave.getClass()))
+                .getContainer(containerName)
                 .createItem(objectToSave, new CosmosItemRequestOptions())
                 .onErrorResume(this::databaseAccessExceptionHandler)
                 .flatMap(cosmosItemResponse -> {
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         cosmosItemResponse, null);
-                    return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties()));
+                    putCachedDocument(containerName, domainClass, cosmosItemResponse.properties());
+                    queryResultCache.invalidate(containerName);
+                    return Mono.just(toWrittenEntity(objectToSave, domainClass, cosmosItemResponse,
+                        this.writeResponseMode));
                 });
     }
 
@@ -253,8 +304,24 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
      * @return Mono with the item or error
      */
     public <T> Mono<T> insert(String containerName, Object objectToSave, PartitionKey partitionKey) {
+        return insert(containerName, (T) objectToSave, partitionKey, this.writeResponseMode);
+    }
+
+    /**
+     * Insert
+     *
+     * @param containerName the container name
+     * @param objectToSave  the object to save
+     * @param partitionKey  the partition key
+     * @param responseMode  how the returned item is built from the response
+     * @return Mono with the item or error
+     */
+    @Override
+    public <T> Mono<T> insert(String containerName, T objectToSave, PartitionKey partitionKey,
+                              WriteResponseMode responseMode) {
         Assert.hasText(containerName, "containerName should not be null, empty or only whitespaces");
         Assert.notNull(objectToSave, "objectToSave should not be null");
+        Assert.notNull(responseMode, "responseMode should not be null");
 
         final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
         if (partitionKey != null) {
@@ -269,7 +336,9 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                 .flatMap(cosmosItemResponse -> {
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         cosmosItemResponse, null);
-                    return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties()));
+                    putCachedDocument(containerName, domainClass, cosmosItemResponse.properties());
+                    queryResultCache.invalidate(containerName);
+                    return Mono.just(toWrittenEntity(objectToSave, domainClass, cosmosItemResponse, responseMode));
                 });
     }
 
@@ -295,6 +364,23 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
      */
     @Override
     public <T> Mono<T> upsert(String containerName, T object, PartitionKey partitionKey) {
+        return upsert(containerName, object, partitionKey, this.writeResponseMode);
+    }
+
+    /**
+     * Upsert
+     *
+     * @param containerName the container name
+     * @param object        the object to save
+     * @param partitionKey  the partition key
+     * @param responseMode  how the returned item is built from the response
+     * @return Mono with the item or error
+     */
+    @Override
+    public <T> Mono<T> upsert(String containerName, T object, PartitionKey partitionKey,
+                              WriteResponseMode responseMode) {
+        Assert.notNull(responseMode, "responseMode should not be null");
+
         final Class<T> domainClass = (Class<T>) object.getClass();
         final CosmosItemRequestOptions options = new CosmosItemRequestOptions();
         if (partitionKey != null) {
@@ -307,7 +393,9 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                 .flatMap(cosmosItemResponse -> {
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         cosmosItemResponse, null);
-                    return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties()));
+                    putCachedDocument(containerName, domainClass, cosmosItemResponse.properties());
+                    queryResultCache.invalidate(containerName);
+                    return Mono.just(toWrittenEntity(object, domainClass, cosmosItemResponse, responseMode));
                 })
                 .onErrorResume(this::databaseAccessExceptionHandler);
     }
@@ -335,6 +423,10 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                            .doOnNext(cosmosItemResponse ->
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                cosmosItemResponse, null))
+                           .doFinally(signal -> {
+                               entityCache.evict(containerName, id, partitionKey);
+                               queryResultCache.invalidate(containerName);
+                           })
                            .onErrorResume(this::databaseAccessExceptionHandler)
                            .then();
     }
@@ -351,6 +443,10 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         Assert.hasText(containerName, "container name should not be null, empty or only whitespaces");
         Assert.notNull(partitionKeyName, "partitionKeyName should not be null");
 
+        if (this.deleteAllStrategy == DeleteAllStrategy.RECREATE_CONTAINER) {
+            return truncateContainer(containerName);
+        }
+
         final Criteria criteria = Criteria.getInstance(CriteriaType.ALL);
         final DocumentQuery query = new DocumentQuery(criteria);
         final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
@@ -373,6 +469,10 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                         .delete()
                         .doOnNext(cosmosItemResponse -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                             cosmosItemResponse, null)))
+                    .doFinally(signal -> {
+                        entityCache.evictAll(containerName);
+                        queryResultCache.invalidate(containerName);
+                    })
                     .onErrorResume(this::databaseAccessExceptionHandler)
                     .then();
     }
@@ -408,8 +508,46 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
      */
     @Override
     public <T> Flux<T> find(DocumentQuery query, Class<T> entityClass, String containerName) {
-        return findDocuments(query, entityClass, containerName)
-                .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties));
+        return find(query, entityClass, entityClass, containerName);
+    }
+
+    /**
+     * Find items by ids. The ids are split into chunks of IN queries, which are executed concurrently as configured
+     * by {@link CosmosDBConfig#getFindByIdsChunkSize()} and {@link CosmosDBConfig#getFindByIdsConcurrency()}.
+     *
+     * @param ids           the ids to find
+     * @param entityClass   the entity class
+     * @param containerName the container name
+     * @param preserveOrder whether items are emitted in the order of the ids, or as soon as they are found
+     * @return Flux with found items or error
+     */
+    @Override
+    public <T, ID> Flux<T> findByIds(Publisher<ID> ids, Class<T> entityClass, String containerName,
+                                     boolean preserveOrder) {
+        Assert.notNull(ids, "Id list should not be null");
+        Assert.notNull(entityClass, "entityClass should not be null.");
+        Assert.hasText(containerName, "container name should not be null, empty or only whitespaces");
+
+        return ChunkedIdQuery.execute(Flux.from(ids), findByIdsChunkSize, findByIdsConcurrency, preserveOrder,
+                    query -> findDocuments(query, entityClass, containerName))
+                .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties))
+                .onErrorResume(this::databaseAccessExceptionHandler);
+    }
+
+    /**
+     * Find items and bind them to the given return type
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param returnType    the type to bind the found items to, the domain class or a projection of it
+     * @param containerName the container name
+     * @return Flux with found items or error
+     */
+    @Override
+    public <T> Flux<T> find(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String containerName) {
+        return findCachedDocuments(query, domainClass, containerName)
+                .map(cosmosItemProperties -> mappingCosmosConverter.read(domainClass, returnType,
+                    cosmosItemProperties));
     }
 
     /**
@@ -482,7 +620,8 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                     null, feedResponse))
                 .onErrorResume(this::databaseAccessExceptionHandler)
                 .next()
-                .map(r -> r.results().get(0).getLong(COUNT_VALUE_KEY));
+                .map(r -> r.results().get(0).getLong(COUNT_VALUE_KEY))
+                .map(count -> query.isLimited() ? Math.min(count, query.getLimit()) : count);
     }
 
     private Flux<FeedResponse<CosmosItemProperties>> executeQuery(SqlQuerySpec sqlQuerySpec, String collectionName,
@@ -497,6 +636,34 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         throw new CosmosDBAccessException("failed to access cosmosdb database", e);
     }
 
+    /**
+     * Empty the container by deleting it and creating it again with the same settings.
+     *
+     * @param containerName the container name
+     * @return Mono which completes once the container is created again
+     * @see DeleteAllStrategy#RECREATE_CONTAINER
+     */
+    @Override
+    public Mono<Void> truncateContainer(@NonNull String containerName) {
+        Assert.hasText(containerName, "container name should not be null, empty or only whitespaces");
+
+        return Mono.defer(() -> {
+            this.collectionCache.remove(containerName);
+            this.entityCache.evictAll(containerName);
+            this.queryResultCache.invalidate(containerName);
+
+            return ContainerRecreator.recreate(cosmosClient.getDatabase(this.databaseName), containerName,
+                responseDiagnosticsProcessor);
+        })
+            .doOnNext(response -> this.collectionCache.add(containerName))
+            .doFinally(signal -> {
+                this.entityCache.evictAll(containerName);
+                this.queryResultCache.invalidate(containerName);
+            })
+            .onErrorResume(this::databaseAccessExceptionHandler)
+            .then();
+    }
+
     /**
      * Delete container with container name
      *
@@ -514,6 +681,8 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                             cosmosContainerResponse, null))
                         .block();
             this.collectionCache.remove(containerName);
+            this.entityCache.evictAll(containerName);
+            this.queryResultCache.invalidate(containerName);
         } catch (Exception e) {
             throw new CosmosDBAccessException("failed to delete collection: " + containerName, e);
         }
@@ -526,18 +695,26 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     public String getContainerName(Class<?> domainClass) {
         Assert.notNull(domainClass, "domainClass should not be null");
 
-        return new CosmosEntityInformation<>(domainClass).getCollectionName();
+        return entityInfoCreator.apply(domainClass).getCollectionName();
     }
 
     private Flux<CosmosItemProperties> findDocuments(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
                                            @NonNull String containerName) {
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        return findDocuments(query, new FindQuerySpecGenerator().generateCosmos(query), domainClass, containerName);
+    }
+
+    private Flux<CosmosItemProperties> findDocuments(@NonNull DocumentQuery query, @NonNull SqlQuerySpec sqlQuerySpec,
+                                                     @NonNull Class<?> domainClass, @NonNull String containerName) {
         final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
         final FeedOptions feedOptions = new FeedOptions();
         feedOptions.enableCrossPartitionQuery(isCrossPartitionQuery);
         feedOptions.populateQueryMetrics(isPopulateQueryMetrics);
 
-        return cosmosClient
+        if (query.isLimited()) {
+            feedOptions.maxItemCount(query.getLimit());
+        }
+
+        final Flux<CosmosItemProperties> results = cosmosClient
                 .getDatabase(this.databaseName)
                 .getContainer(containerName)
                 .queryItems(sqlQuerySpec, feedOptions)
@@ -546,6 +723,41 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                         null, cosmosItemFeedResponse);
                     return Flux.fromIterable(cosmosItemFeedResponse.results());
                 });
+
+        // Stop requesting further pages once the limit is reached
+        return query.isLimited() ? results.take(query.getLimit()) : results;
+    }
+
+    /**
+     * Find the documents of the query, from the query result cache when the query is cached, otherwise sharing the
+     * query with identical cached queries in flight. Other queries are streamed, and not shared.
+     */
+    private Flux<CosmosItemProperties> findCachedDocuments(@NonNull DocumentQuery query,
+                                                           @NonNull Class<?> domainClass,
+                                                           @NonNull String containerName) {
+        if (query.getCacheTimeToLive() == null) {
+            return findDocuments(query, domainClass, containerName);
+        }
+
+        return Flux.defer(() -> {
+            final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+            final List<Object> key = QueryResultCache.getKey(containerName, sqlQuerySpec, query);
+            final List<CosmosItemProperties> cached = queryResultCache.get(key);
+
+            if (cached != null) {
+                return Flux.fromIterable(cached);
+            }
+
+            final long generation = queryResultCache.getGeneration(containerName);
+
+            return inFlightReads
+                .read(containerName, generation, key, () -> findDocuments(query, sqlQuerySpec, domainClass,
+                    containerName)
+                    .collectList()
+                    .doOnNext(documents -> queryResultCache.put(key, generation, documents,
+                        query.getCacheTimeToLive())))
+                .flatMapIterable(documents -> documents);
+        });
     }
 
     private void assertValidId(Object id) {
@@ -556,7 +768,7 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     }
 
     private List<String> getPartitionKeyNames(Class<?> domainClass) {
-        final CosmosEntityInformation<?, ?> entityInfo = new CosmosEntityInformation<>(domainClass);
+        final CosmosEntityInformation<?, ?> entityInfo = entityInfoCreator.apply(domainClass);
 
         if (entityInfo.getPartitionKeyFieldName() == null) {
             return new ArrayList<>();
@@ -570,11 +782,8 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                                                     String containerName) {
         Assert.isTrue(partitionKeyNames.size() <= 1, "Only one Partition is supported.");
 
-        PartitionKey partitionKey = null;
-
-        if (!partitionKeyNames.isEmpty() && StringUtils.hasText(partitionKeyNames.get(0))) {
-            partitionKey = new PartitionKey(cosmosItemProperties.get(partitionKeyNames.get(0)));
-        }
+        final PartitionKey partitionKey = !partitionKeyNames.isEmpty() && StringUtils.hasText(partitionKeyNames.get(0))
+            ? new PartitionKey(cosmosItemProperties.get(partitionKeyNames.get(0))) : null;
 
         final CosmosItemRequestOptions options = new CosmosItemRequestOptions(partitionKey);
 
@@ -587,11 +796,47 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         cosmosItemResponse, null);
                     return cosmosItemProperties;
+                })
+                .doFinally(signal -> {
+                    entityCache.evict(containerName, cosmosItemProperties.id(), partitionKey);
+                    queryResultCache.invalidate(containerName);
                 });
     }
 
+    /**
+     * Refresh the cached document of a written item, keyed by the partition key value of the document.
+     */
+    private void putCachedDocument(String containerName, Class<?> domainClass, CosmosItemProperties document) {
+        if (document == null || !entityCache.isCached(domainClass)) {
+            return;
+        }
+
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
+        final Object partitionKeyValue = partitionKeyNames.isEmpty() ? null : document.get(partitionKeyNames.get(0));
+        entityCache.put(domainClass, containerName, partitionKeyValue == null ? PartitionKey.None
+            : new PartitionKey(partitionKeyValue), document);
+    }
+
+    private <T> T toWrittenEntity(T entity, Class<T> domainClass, CosmosItemResponse response,
+                                  WriteResponseMode responseMode) {
+        final CosmosItemProperties properties = response.properties();
+
+        if (responseMode == WriteResponseMode.NO_CONTENT) {
+            final OffsetDateTime timestamp = properties.timestamp();
+            CosmosEntityCodec.of(domainClass).setServerFields(entity, properties.etag(),
+                timestamp == null ? null : timestamp.toEpochSecond());
+            return entity;
+        }
+
+        return toDomainObject(domainClass, properties);
+    }
+
     private <T> T toDomainObject(@NonNull Class<T> domainClass, CosmosItemProperties cosmosItemProperties) {
         return mappingCosmosConverter.read(domainClass, cosmosItemProperties);
     }
 
+    private CosmosEntityInformation<?, ?> getCosmosEntityInformation(Class<?> domainClass) {
+        return new CosmosEntityInformation<>(domainClass);
+    }
+
 }
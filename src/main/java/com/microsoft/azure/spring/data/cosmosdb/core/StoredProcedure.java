@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosStoredProcedureProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stored procedures which are installed into every collection created through {@link CosmosTemplate}.
+ * <p>
+ * The version is part of the id, so a changed script is installed next to the previous one instead of
+ * replacing it under applications which still run an older library version.
+ */
+enum StoredProcedure {
+
+    BULK_UPSERT("bulkUpsert", 1),
+
+    PARTIAL_UPDATE("partialUpdate", 1),
+
+    BULK_DELETE("bulkDelete", 1);
+
+    private static final String ID_PREFIX = "spring-data-cosmosdb-";
+
+    private static final String SCRIPT_LOCATION = "storedprocedures/%s.js";
+
+    private final String name;
+    private final int version;
+    private volatile String body;
+
+    StoredProcedure(String name, int version) {
+        this.name = name;
+        this.version = version;
+    }
+
+    String getId() {
+        return ID_PREFIX + this.name + "-v" + this.version;
+    }
+
+    CosmosStoredProcedureProperties getProperties() {
+        return new CosmosStoredProcedureProperties(getId(), getBody());
+    }
+
+    private String getBody() {
+        if (this.body == null) {
+            final ClassPathResource resource = new ClassPathResource(String.format(SCRIPT_LOCATION, this.name));
+
+            try (InputStream inputStream = resource.getInputStream()) {
+                this.body = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to load stored procedure " + resource.getPath(), e);
+            }
+        }
+
+        return this.body;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Buffers the upserts of one collection and writes them in batches, on size or time thresholds.
+ * <p>
+ * Upserts of the same key replace each other while buffered. Once the buffer is full, the caller flushes it
+ * before its upsert is buffered, which slows callers down to the write throughput. Flushes never overlap, so
+ * the upserts of a key are written in the order they were made.
+ */
+@Slf4j
+final class WriteBehindBuffer {
+
+    private final int flushSize;
+    private final int maxBufferSize;
+    private final Scheduler scheduler;
+    private final Consumer<List<Object>> writer;
+    private final Disposable timer;
+
+    private final Map<Object, Object> pending = new LinkedHashMap<>();
+    private final Object flushLock = new Object();
+    private final AtomicBoolean isFlushScheduled = new AtomicBoolean();
+    private volatile boolean isClosed;
+
+    /**
+     * @param flushSize     the number of buffered upserts which triggers a flush
+     * @param maxBufferSize the maximum number of buffered upserts
+     * @param flushInterval the time between two flushes
+     * @param scheduler     runs the flushes which are not made by callers, must allow blocking
+     * @param writer        writes the entities of one flush
+     */
+    WriteBehindBuffer(int flushSize, int maxBufferSize, @NonNull Duration flushInterval,
+                      @NonNull Scheduler scheduler, @NonNull Consumer<List<Object>> writer) {
+        Assert.isTrue(flushSize > 0, "flushSize should be larger than 0");
+        Assert.isTrue(maxBufferSize >= flushSize, "maxBufferSize should not be smaller than flushSize");
+        Assert.isTrue(!flushInterval.isNegative() && !flushInterval.isZero(), "flushInterval should be positive");
+
+        this.flushSize = flushSize;
+        this.maxBufferSize = maxBufferSize;
+        this.scheduler = scheduler;
+        this.writer = writer;
+        this.timer = scheduler.schedulePeriodically(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Buffer the upsert of the entity, replacing the buffered upsert of the same key.
+     *
+     * @param key    the id and partition key of the entity
+     * @param entity the entity
+     */
+    void add(@NonNull Object key, @NonNull Object entity) {
+        while (true) {
+            synchronized (this.pending) {
+                Assert.state(!this.isClosed, "write behind buffer is closed");
+
+                if (this.pending.size() < this.maxBufferSize || this.pending.containsKey(key)) {
+                    this.pending.put(key, entity);
+
+                    if (this.pending.size() >= this.flushSize && this.isFlushScheduled.compareAndSet(false, true)) {
+                        this.scheduler.schedule(this::flush);
+                    }
+
+                    return;
+                }
+            }
+
+            flush();
+        }
+    }
+
+    /**
+     * Drop the buffered upsert of the key, after any flush in progress is written.
+     *
+     * @param key the id and partition key of the entity
+     */
+    void discard(@NonNull Object key) {
+        synchronized (this.flushLock) {
+            synchronized (this.pending) {
+                this.pending.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Drop all buffered upserts, after any flush in progress is written.
+     */
+    void discardAll() {
+        synchronized (this.flushLock) {
+            synchronized (this.pending) {
+                this.pending.clear();
+            }
+        }
+    }
+
+    /**
+     * Write all buffered upserts.
+     */
+    void flush() {
+        synchronized (this.flushLock) {
+            final List<Object> entities;
+
+            synchronized (this.pending) {
+                this.isFlushScheduled.set(false);
+
+                if (this.pending.isEmpty()) {
+                    return;
+                }
+
+                entities = new ArrayList<>(this.pending.values());
+                this.pending.clear();
+            }
+
+            try {
+                this.writer.accept(entities);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} buffered upserts", entities.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Stop the periodic flushes and write all buffered upserts, further upserts are rejected.
+     */
+    void close() {
+        synchronized (this.pending) {
+            this.isClosed = true;
+        }
+
+        this.timer.dispose();
+        flush();
+    }
+}
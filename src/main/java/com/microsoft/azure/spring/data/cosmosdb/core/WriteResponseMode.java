@@ -0,0 +1,23 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+/**
+ * How the entity returned by an insert or upsert is built from the response of the service.
+ */
+public enum WriteResponseMode {
+
+    /**
+     * Convert the written document of the response into a new entity.
+     */
+    FULL,
+
+    /**
+     * Return the given entity, with only its {@code _etag} and {@code _ts} fields set from the response. This skips
+     * the conversion of the written document, which is the same as the given entity apart from the server fields.
+     */
+    NO_CONTENT
+}
@@ -6,16 +6,19 @@
 package com.microsoft.azure.spring.data.cosmosdb.core.convert;
 
 import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.JsonSerializable;
 import com.azure.data.cosmos.internal.Utils;
 import com.azure.data.cosmos.internal.query.QueryItem;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
 import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
-import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
@@ -28,8 +31,10 @@ import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
@@ -41,6 +46,9 @@ public class MappingCosmosConverter
     Object, CosmosItemProperties>,
     ApplicationContextAware {
 
+    // The SDK keeps the parsed document as a Jackson tree but does not expose it publicly.
+    private static final Field PROPERTY_BAG_FIELD = findPropertyBagField();
+
     protected final MappingContext<? extends CosmosPersistentEntity<?>,
                                           CosmosPersistentProperty> mappingContext;
     protected GenericConversionService conversionService;
@@ -63,11 +71,24 @@ public class MappingCosmosConverter
 
     @Override
     public <R> R read(Class<R> type, CosmosItemProperties cosmosItemProperties) {
+        return read(type, type, cosmosItemProperties);
+    }
+
+    /**
+     * Read the document of the domain type into the given type, which may be a projection of the domain type.
+     *
+     * @param domainType           the domain type the document is stored as, which declares the id field
+     * @param type                 the type to bind the document to
+     * @param cosmosItemProperties the document
+     * @param <R>                  the type to bind the document to
+     * @return the bound object
+     */
+    public <R> R read(Class<?> domainType, Class<R> type, CosmosItemProperties cosmosItemProperties) {
         if (cosmosItemProperties == null) {
             return null;
         }
 
-        final CosmosPersistentEntity<?> entity = mappingContext.getPersistentEntity(type);
+        final CosmosPersistentEntity<?> entity = mappingContext.getPersistentEntity(domainType);
         Assert.notNull(entity, "Entity is null.");
 
         return readInternal(entity, type, cosmosItemProperties);
@@ -78,22 +99,52 @@ public class MappingCosmosConverter
 
         try {
             final CosmosPersistentProperty idProperty = entity.getIdProperty();
-            final Object idValue = cosmosItemProperties.id();
-            final JSONObject jsonObject = new JSONObject(cosmosItemProperties.toJson());
+            final ObjectNode objectNode = getObjectNode(cosmosItemProperties);
+
+            if (idProperty == null || Constants.ID_PROPERTY_NAME.equals(idProperty.getName())) {
+                return objectMapper.treeToValue(objectNode, type);
+            }
+
+            // Replace the key id to the actual id field name in domain, on a shallow copy of the tree
+            final JsonNode idValue = objectNode.get(Constants.ID_PROPERTY_NAME);
+            final ObjectNode renamedNode = objectMapper.createObjectNode();
 
-            if (idProperty != null) {
-                // Replace the key id to the actual id field name in domain
-                jsonObject.remove(Constants.ID_PROPERTY_NAME);
-                jsonObject.put(idProperty.getName(), idValue);
+            renamedNode.setAll(objectNode);
+            renamedNode.remove(Constants.ID_PROPERTY_NAME);
+
+            if (idValue != null && !idValue.isNull()) {
+                renamedNode.set(idProperty.getName(), idValue);
             }
 
-            return objectMapper.readValue(jsonObject.toString(), type);
+            return objectMapper.treeToValue(renamedNode, type);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to read the source document " + cosmosItemProperties.toJson()
                 + "  to target type " + type, e);
         }
     }
 
+    private ObjectNode getObjectNode(CosmosItemProperties cosmosItemProperties) throws IOException {
+        if (PROPERTY_BAG_FIELD != null) {
+            final Object propertyBag = ReflectionUtils.getField(PROPERTY_BAG_FIELD, cosmosItemProperties);
+
+            if (propertyBag instanceof ObjectNode) {
+                return (ObjectNode) propertyBag;
+            }
+        }
+
+        return (ObjectNode) objectMapper.readTree(cosmosItemProperties.toJson());
+    }
+
+    private static Field findPropertyBagField() {
+        final Field field = ReflectionUtils.findField(JsonSerializable.class, "propertyBag", ObjectNode.class);
+
+        if (field != null) {
+            ReflectionUtils.makeAccessible(field);
+        }
+
+        return field;
+    }
+
     @Override
     @Deprecated
     public void write(Object sourceEntity, CosmosItemProperties document) {
@@ -112,23 +163,48 @@ public class MappingCosmosConverter
             throw new MappingException("no mapping metadata for entity type: " + sourceEntity.getClass().getName());
         }
 
-        final ConvertingPropertyAccessor accessor = getPropertyAccessor(sourceEntity);
         final CosmosPersistentProperty idProperty = persistentEntity.getIdProperty();
-        final CosmosItemProperties cosmosItemProperties;
+        final ObjectNode objectNode;
 
         try {
-            cosmosItemProperties =
-                new CosmosItemProperties(objectMapper.writeValueAsString(sourceEntity));
-        } catch (JsonProcessingException e) {
+            objectNode = objectMapper.valueToTree(sourceEntity);
+        } catch (IllegalArgumentException e) {
             throw new CosmosDBAccessException("Failed to map document value.", e);
         }
 
         if (idProperty != null) {
-            final Object value = accessor.getProperty(idProperty);
+            @SuppressWarnings("unchecked") final CosmosEntityCodec<Object> codec =
+                (CosmosEntityCodec<Object>) CosmosEntityCodec.find(sourceEntity.getClass());
+            final Object value = codec == null
+                ? getPropertyAccessor(persistentEntity, sourceEntity).getProperty(idProperty)
+                : codec.getId(sourceEntity);
             final String id = value == null ? null : value.toString();
-            cosmosItemProperties.id(id);
+            objectNode.put(Constants.ID_PROPERTY_NAME, id);
         }
 
+        return toCosmosItemProperties(objectNode);
+    }
+
+    private ConvertingPropertyAccessor getPropertyAccessor(CosmosPersistentEntity<?> persistentEntity,
+                                                           Object entity) {
+        final PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(entity);
+
+        return new ConvertingPropertyAccessor(accessor, conversionService);
+    }
+
+    private CosmosItemProperties toCosmosItemProperties(ObjectNode objectNode) {
+        if (PROPERTY_BAG_FIELD == null) {
+            try {
+                return new CosmosItemProperties(objectMapper.writeValueAsString(objectNode));
+            } catch (JsonProcessingException e) {
+                throw new CosmosDBAccessException("Failed to map document value.", e);
+            }
+        }
+
+        // Hand the tree to the SDK as is, instead of printing it to a string the SDK has to parse again
+        final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties();
+        ReflectionUtils.setField(PROPERTY_BAG_FIELD, cosmosItemProperties, objectNode);
+
         return cosmosItemProperties;
     }
 
@@ -151,15 +227,6 @@ public class MappingCosmosConverter
     }
 
 
-    private ConvertingPropertyAccessor getPropertyAccessor(Object entity) {
-        final CosmosPersistentEntity<?> entityInformation =
-            mappingContext.getPersistentEntity(entity.getClass());
-
-        Assert.notNull(entityInformation, "EntityInformation should not be null.");
-        final PersistentPropertyAccessor accessor = entityInformation.getPropertyAccessor(entity);
-        return new ConvertingPropertyAccessor(accessor, conversionService);
-    }
-
     /**
      * Convert a property value to the value stored in CosmosDB
      *
@@ -5,14 +5,19 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.generator;
 
+import com.azure.data.cosmos.SqlParameter;
+import com.azure.data.cosmos.SqlParameterList;
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosOffsetPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import org.javatuples.Pair;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
@@ -20,7 +25,11 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter.toCosmosDbValue;
@@ -28,6 +37,10 @@ import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmo
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractQueryGenerator {
 
+    private static final int MAX_QUERY_TEMPLATES = 1024;
+
+    private static final Map<QueryTemplateKey, QueryTemplate> QUERY_TEMPLATES = new ConcurrentHashMap<>();
+
     private String generateQueryParameter(@NonNull String subject) {
         return subject.replaceAll("\\.", "_"); // user.name is not valid sql parameter identifier.
     }
@@ -84,28 +97,59 @@ public abstract class AbstractQueryGenerator {
         return String.join(" ", left, type.getSqlKeyword(), right);
     }
 
-    @SuppressWarnings("unchecked")
-    private String generateInQuery(Criteria criteria) {
+    /**
+     * IN values are bound as numbered parameters, padded with the last value to the next power of two. The query
+     * text only depends on the size bucket of the collection, not on the values.
+     */
+    private static int getInRangeSize(@NonNull Criteria criteria) {
         Assert.isTrue(criteria.getSubjectValues().size() == 1, "Criteria should have only one subject value");
         if (!(criteria.getSubjectValues().get(0) instanceof Collection)) {
             throw new IllegalQueryException("IN keyword requires Collection type in parameters");
         }
-        final List<String> inRangeValues = new ArrayList<>();
-        final Collection values = (Collection) criteria.getSubjectValues().get(0);
+
+        final int size = ((Collection<?>) criteria.getSubjectValues().get(0)).size();
+
+        return size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static List<Object> getInRangeValues(@NonNull Criteria criteria) {
+        final int inRangeSize = getInRangeSize(criteria);
+        final Collection<?> values = (Collection<?>) criteria.getSubjectValues().get(0);
+        final List<Object> inRangeValues = new ArrayList<>(inRangeSize);
 
         values.forEach(o -> {
-            if (o instanceof Integer || o instanceof Long) {
-                inRangeValues.add(String.format("%d", o));
-            } else if (o instanceof String) {
-                inRangeValues.add(String.format("'%s'", (String) o));
-            } else if (o instanceof Boolean) {
-                inRangeValues.add(String.format("%b", (Boolean) o));
+            if (o instanceof Number || o instanceof String || o instanceof Boolean) {
+                inRangeValues.add(o);
             } else {
                 throw new IllegalQueryException("IN keyword Range only support Number and String type.");
             }
         });
 
-        final String inRange = String.join(",", inRangeValues);
+        while (!inRangeValues.isEmpty() && inRangeValues.size() < inRangeSize) {
+            inRangeValues.add(inRangeValues.get(inRangeValues.size() - 1));
+        }
+
+        return inRangeValues;
+    }
+
+    private String generateInQuery(@NonNull Criteria criteria, @NonNull List<Pair<String, Object>> parameters) {
+        final List<Object> values = getInRangeValues(criteria);
+
+        if (values.isEmpty()) {
+            return criteria.getType() == CriteriaType.IN ? "false" : "true";
+        }
+
+        final String parameter = generateQueryParameter(criteria.getSubject());
+        final List<String> inRangeParameters = new ArrayList<>(values.size());
+
+        for (int i = 0; i < values.size(); i++) {
+            final String inRangeParameter = parameter + "_" + i;
+
+            parameters.add(Pair.with(inRangeParameter, values.get(i)));
+            inRangeParameters.add("@" + inRangeParameter);
+        }
+
+        final String inRange = String.join(", ", inRangeParameters);
         return String.format("r.%s %s (%s)", criteria.getSubject(), criteria.getType().getSqlKeyword(), inRange);
     }
 
@@ -117,7 +161,7 @@ public abstract class AbstractQueryGenerator {
                 return "";
             case IN:
             case NOT_IN:
-                return generateInQuery(criteria);
+                return generateInQuery(criteria, parameters);
             case BETWEEN:
                 return generateBetween(criteria, parameters);
             case IS_NULL:
@@ -189,6 +233,27 @@ public abstract class AbstractQueryGenerator {
         return queryTail + " " + String.join(",", subjects);
     }
 
+    /**
+     * Whether the query skips to its page with OFFSET and LIMIT, which Cosmos does not accept together with TOP.
+     */
+    protected static boolean isOffsetPaged(@NonNull DocumentQuery query) {
+        return query.getPageable() instanceof CosmosOffsetPageRequest;
+    }
+
+    private String generateQueryOffset(@NonNull DocumentQuery query) {
+        if (!isOffsetPaged(query)) {
+            return "";
+        }
+
+        final Pageable pageable = query.getPageable();
+        // The limit of the query, such as of findTop3By, is folded into the LIMIT of the page instead of a TOP
+        final long limit = query.isLimited()
+                ? Math.max(0, Math.min(pageable.getPageSize(), query.getLimit() - pageable.getOffset()))
+                : pageable.getPageSize();
+
+        return String.format("OFFSET %d LIMIT %d", pageable.getOffset(), limit);
+    }
+
     @NonNull
     private String generateQueryTail(@NonNull DocumentQuery query) {
         final List<String> queryTails = new ArrayList<>();
@@ -198,22 +263,198 @@ public abstract class AbstractQueryGenerator {
         return String.join(" ", queryTails.stream().filter(StringUtils::hasText).collect(Collectors.toList()));
     }
 
+    private void collectParameterValues(@NonNull Criteria criteria, @NonNull List<Object> values) {
+        switch (criteria.getType()) {
+            case ALL:
+            case IS_NULL:
+            case IS_NOT_NULL:
+            case FALSE:
+            case TRUE:
+                break;
+            case IN:
+            case NOT_IN:
+                values.addAll(getInRangeValues(criteria));
+                break;
+            case BETWEEN:
+                values.add(criteria.getSubjectValues().get(0));
+                values.add(criteria.getSubjectValues().get(1));
+                break;
+            case AND:
+            case OR:
+                collectParameterValues(criteria.getSubCriteria().get(0), values);
+                collectParameterValues(criteria.getSubCriteria().get(1), values);
+                break;
+            default:
+                values.add(criteria.getSubjectValues().get(0));
+        }
+    }
 
-    protected SqlQuerySpec generateCosmosQuery(@NonNull DocumentQuery query,
-                                                                            @NonNull String queryHead) {
+    private QueryTemplate generateQueryTemplate(@NonNull DocumentQuery query, @NonNull String queryHead) {
         final Pair<String, List<Pair<String, Object>>> queryBody = generateQueryBody(query);
         final String queryString = String.join(" ", queryHead, queryBody.getValue0(), generateQueryTail(query));
-        final List<Pair<String, Object>> parameters = queryBody.getValue1();
-        final com.azure.data.cosmos.SqlParameterList sqlParameters =
-                new com.azure.data.cosmos.SqlParameterList();
-
-        sqlParameters.addAll(
-                parameters.stream()
-                        .map(p -> new com.azure.data.cosmos.SqlParameter("@" + p.getValue0(),
-                                toCosmosDbValue(p.getValue1())))
-                        .collect(Collectors.toList())
-        );
-
-        return new com.azure.data.cosmos.SqlQuerySpec(queryString, sqlParameters);
+        final List<String> parameterNames = queryBody.getValue1().stream()
+                .map(p -> "@" + p.getValue0())
+                .collect(Collectors.toList());
+
+        return new QueryTemplate(queryString, parameterNames);
+    }
+
+    private QueryTemplate getQueryTemplate(@NonNull DocumentQuery query, @NonNull String queryHead) {
+        final QueryTemplateKey key = new QueryTemplateKey(queryHead, query.getCriteria(), query.getSort());
+        final QueryTemplate template = QUERY_TEMPLATES.get(key);
+
+        if (template != null) {
+            return template;
+        }
+
+        final QueryTemplate generated = generateQueryTemplate(query, queryHead);
+
+        if (QUERY_TEMPLATES.size() < MAX_QUERY_TEMPLATES) {
+            QUERY_TEMPLATES.putIfAbsent(key.detach(), generated);
+        }
+
+        return generated;
+    }
+
+    protected SqlQuerySpec generateCosmosQuery(@NonNull DocumentQuery query,
+                                                                            @NonNull String queryHead) {
+        return generateCosmosQuery(query, queryHead, true);
+    }
+
+    /**
+     * Generate the Sql query of the given query head.
+     * <p>
+     * The query text and parameter names only depend on the shape of the query, so they are generated once and
+     * reused, the parameter values of each call are bound to the cached template.
+     *
+     * @param query     the representation for query method.
+     * @param queryHead the select clause of the query.
+     * @param isPaged   whether to skip to the page of a {@link CosmosOffsetPageRequest}, aggregations like count
+     *                  apply to the whole result set and do not.
+     * @return the Sql query
+     */
+    protected SqlQuerySpec generateCosmosQuery(@NonNull DocumentQuery query, @NonNull String queryHead,
+                                               boolean isPaged) {
+        final QueryTemplate template = getQueryTemplate(query, queryHead);
+        final String queryOffset = isPaged ? generateQueryOffset(query) : "";
+        final String queryString = queryOffset.isEmpty() ? template.queryText :
+                String.join(" ", template.queryText, queryOffset);
+
+        final List<Object> values = new ArrayList<>(template.parameterNames.size());
+        collectParameterValues(query.getCriteria(), values);
+        Assert.isTrue(values.size() == template.parameterNames.size(), "parameter values should match the query");
+
+        final SqlParameterList sqlParameters = new SqlParameterList();
+
+        for (int i = 0; i < values.size(); i++) {
+            sqlParameters.add(new SqlParameter(template.parameterNames.get(i), toCosmosDbValue(values.get(i))));
+        }
+
+        return new SqlQuerySpec(queryString, sqlParameters);
+    }
+
+    /**
+     * Sql query text with the names of its parameters, in the order the criteria binds their values.
+     */
+    @AllArgsConstructor
+    private static final class QueryTemplate {
+        private final String queryText;
+        private final List<String> parameterNames;
+    }
+
+    /**
+     * Identifies the query text generated for a query head, criteria and sort. The criteria is compared by type,
+     * subject and IN size bucket only, its values are bound as parameters.
+     */
+    private static final class QueryTemplateKey {
+        private final String queryHead;
+        private final Criteria criteria;
+        private final Sort sort;
+        private final int hash;
+
+        private QueryTemplateKey(String queryHead, Criteria criteria, Sort sort) {
+            this.queryHead = queryHead;
+            this.criteria = criteria;
+            this.sort = sort;
+            this.hash = 31 * (31 * queryHead.hashCode() + shapeHashCode(criteria)) + sort.hashCode();
+        }
+
+        private static boolean isInRange(Criteria criteria) {
+            return criteria.getType() == CriteriaType.IN || criteria.getType() == CriteriaType.NOT_IN;
+        }
+
+        private static int getShapeSize(Criteria criteria) {
+            return isInRange(criteria) ? getInRangeSize(criteria) : 0;
+        }
+
+        private static int shapeHashCode(Criteria criteria) {
+            int result = 31 * criteria.getType().hashCode() + Objects.hashCode(criteria.getSubject());
+
+            result = 31 * result + getShapeSize(criteria);
+
+            for (final Criteria subCriteria : criteria.getSubCriteria()) {
+                result = 31 * result + shapeHashCode(subCriteria);
+            }
+
+            return result;
+        }
+
+        private static boolean shapeEquals(Criteria left, Criteria right) {
+            if (left.getType() != right.getType() || !Objects.equals(left.getSubject(), right.getSubject())
+                    || getShapeSize(left) != getShapeSize(right)
+                    || left.getSubCriteria().size() != right.getSubCriteria().size()) {
+                return false;
+            }
+
+            for (int i = 0; i < left.getSubCriteria().size(); i++) {
+                if (!shapeEquals(left.getSubCriteria().get(i), right.getSubCriteria().get(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Copy of the criteria shape, so the cache does not keep the parameter values of the first query alive.
+         */
+        private static Criteria detach(Criteria criteria) {
+            if (criteria.getSubCriteria().isEmpty()) {
+                final List<Object> values = isInRange(criteria) ?
+                        Collections.singletonList(Collections.nCopies(getShapeSize(criteria), null)) :
+                        Collections.emptyList();
+
+                return criteria.getSubject() == null ? Criteria.getInstance(criteria.getType()) :
+                        Criteria.getInstance(criteria.getType(), criteria.getSubject(), values);
+            }
+
+            return Criteria.getInstance(criteria.getType(), detach(criteria.getSubCriteria().get(0)),
+                    detach(criteria.getSubCriteria().get(1)));
+        }
+
+        private QueryTemplateKey detach() {
+            return new QueryTemplateKey(queryHead, detach(criteria), sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof QueryTemplateKey)) {
+                return false;
+            }
+
+            final QueryTemplateKey that = (QueryTemplateKey) obj;
+
+            return hash == that.hash && queryHead.equals(that.queryHead) && sort.equals(that.sort)
+                    && shapeEquals(criteria, that.criteria);
+        }
     }
 }
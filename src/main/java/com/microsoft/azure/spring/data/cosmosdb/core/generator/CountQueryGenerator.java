@@ -11,6 +11,6 @@ public class CountQueryGenerator extends AbstractQueryGenerator implements Query
 
     @Override
     public com.azure.data.cosmos.SqlQuerySpec generateCosmos(DocumentQuery query) {
-        return super.generateCosmosQuery(query, "SELECT VALUE COUNT(1) FROM r");
+        return super.generateCosmosQuery(query, "SELECT VALUE COUNT(1) FROM r", false);
     }
 }
@@ -7,12 +7,38 @@ package com.microsoft.azure.spring.data.cosmosdb.core.generator;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import lombok.NoArgsConstructor;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 @NoArgsConstructor
 public class FindQuerySpecGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
 
+    private static final String SELECT_ALL = "SELECT * FROM ROOT r";
+
     @Override
     public com.azure.data.cosmos.SqlQuerySpec generateCosmos(DocumentQuery query) {
-        return super.generateCosmosQuery(query, "SELECT * FROM ROOT r");
+        return super.generateCosmosQuery(query, generateQueryHead(query));
+    }
+
+    private String generateQueryHead(@NonNull DocumentQuery query) {
+        final boolean isTop = query.isLimited() && !isOffsetPaged(query);
+
+        if (!isTop && query.getProjection().isEmpty()) {
+            return SELECT_ALL;
+        }
+
+        final String top = isTop ? String.format("TOP %d ", query.getLimit()) : "";
+
+        return String.format("SELECT %s%s FROM ROOT r", top, generateQuerySelect(query.getProjection()));
+    }
+
+    private String generateQuerySelect(@NonNull List<String> projection) {
+        if (projection.isEmpty()) {
+            return "*";
+        }
+
+        return projection.stream().map(f -> "r." + f).collect(Collectors.joining(", "));
     }
 }
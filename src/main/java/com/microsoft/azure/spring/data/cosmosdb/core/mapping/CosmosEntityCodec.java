@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Accessors for the id, partition key and etag fields of a domain class.
+ * <p>
+ * The fields are resolved and bound to {@link MethodHandle}s once per class, so the
+ * per-entity calls made on every save and delete do not go through reflection lookups.
+ *
+ * @param <T> the domain type
+ */
+public final class CosmosEntityCodec<T> {
+
+    private static final String ETAG = "_etag";
+
+    private static final String TIMESTAMP = "_ts";
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Function<Class<?>, CosmosEntityCodec<?>> CODEC_CREATOR =
+            Memoizer.memoize(CosmosEntityCodec::new);
+
+    private static final Function<Class<?>, Optional<CosmosEntityCodec<?>>> SUPPORTED_CODEC_CREATOR =
+            Memoizer.memoize(CosmosEntityCodec::createIfSupported);
+
+    private final Field idField;
+    private final Field partitionKeyField;
+    private final Field versionField;
+
+    private final MethodHandle idGetter;
+    private final MethodHandle partitionKeyGetter;
+    private final MethodHandle versionGetter;
+
+    private final MethodHandle etagSetter;
+    private final MethodHandle timestampSetter;
+
+    private CosmosEntityCodec(Class<?> domainClass) {
+        this.idField = findIdField(domainClass);
+        this.partitionKeyField = findPartitionKeyField(domainClass);
+        this.versionField = findVersionField(domainClass);
+
+        this.idGetter = getterOf(this.idField);
+        this.partitionKeyGetter = getterOf(this.partitionKeyField);
+        this.versionGetter = getterOf(this.versionField);
+
+        this.etagSetter = setterOf(findServerField(domainClass, ETAG, String.class));
+        this.timestampSetter = setterOf(findServerField(domainClass, TIMESTAMP, Long.class, long.class));
+    }
+
+    /**
+     * Get the codec of the domain class, which is created on first use and shared afterwards.
+     *
+     * @param domainClass the domain class
+     * @param <T>         the domain type
+     * @return the codec of the domain class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CosmosEntityCodec<T> of(@NonNull Class<T> domainClass) {
+        return (CosmosEntityCodec<T>) CODEC_CREATOR.apply(domainClass);
+    }
+
+    /**
+     * Get the codec of the domain class, or null when the codec does not support the class, such as a class with an
+     * id of another type than String or Integer, which is then accessed through its persistent entity.
+     *
+     * @param domainClass the domain class
+     * @param <T>         the domain type
+     * @return the codec of the domain class, or null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> CosmosEntityCodec<T> find(@NonNull Class<T> domainClass) {
+        return (CosmosEntityCodec<T>) SUPPORTED_CODEC_CREATOR.apply(domainClass).orElse(null);
+    }
+
+    private static Optional<CosmosEntityCodec<?>> createIfSupported(Class<?> domainClass) {
+        try {
+            return Optional.of(of(domainClass));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Field getIdField() {
+        return this.idField;
+    }
+
+    @Nullable
+    public Field getPartitionKeyField() {
+        return this.partitionKeyField;
+    }
+
+    public boolean isVersioned() {
+        return this.versionField != null;
+    }
+
+    /**
+     * Get the name of the document field the given domain property is stored as.
+     *
+     * @param propertyName the domain property name
+     * @return the document field name
+     */
+    public String getDocumentFieldName(@NonNull String propertyName) {
+        return this.idField.getName().equals(propertyName) ? Constants.ID_PROPERTY_NAME : propertyName;
+    }
+
+    public Object getId(@NonNull T entity) {
+        return invoke(this.idGetter, entity);
+    }
+
+    @Nullable
+    public String getPartitionKeyValue(@NonNull T entity) {
+        return this.partitionKeyGetter == null ? null : (String) invoke(this.partitionKeyGetter, entity);
+    }
+
+    @Nullable
+    public String getEtag(@NonNull T entity) {
+        return this.versionGetter == null ? null : (String) invoke(this.versionGetter, entity);
+    }
+
+    /**
+     * Set the {@code _etag} and {@code _ts} fields of the entity to the values the service assigned on a write,
+     * as reading the written document back would. Fields which the domain class does not declare are skipped.
+     *
+     * @param entity    the written entity
+     * @param etag      the etag of the written document
+     * @param timestamp the {@code _ts} of the written document, in seconds since the epoch
+     */
+    public void setServerFields(@NonNull T entity, @Nullable String etag, @Nullable Long timestamp) {
+        if (this.etagSetter != null) {
+            invoke(this.etagSetter, entity, etag);
+        }
+
+        if (this.timestampSetter != null && timestamp != null) {
+            invoke(this.timestampSetter, entity, timestamp);
+        }
+    }
+
+    private static void invoke(MethodHandle setter, Object entity, Object value) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to write field of " + entity.getClass().getName(), e);
+        }
+    }
+
+    private static Object invoke(MethodHandle getter, Object entity) {
+        try {
+            return getter.invokeExact(entity);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to read field of " + entity.getClass().getName(), e);
+        }
+    }
+
+    private static MethodHandle getterOf(Field field) {
+        if (field == null) {
+            return null;
+        }
+
+        ReflectionUtils.makeAccessible(field);
+
+        try {
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access field " + field.getName(), e);
+        }
+    }
+
+    private static MethodHandle setterOf(Field field) {
+        if (field == null) {
+            return null;
+        }
+
+        ReflectionUtils.makeAccessible(field);
+
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(SETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access field " + field.getName(), e);
+        }
+    }
+
+    private static Field findServerField(Class<?> domainClass, String name, Class<?>... types) {
+        final Field field = ReflectionUtils.findField(domainClass, name);
+
+        if (field == null || Modifier.isFinal(field.getModifiers())
+                || !Arrays.asList(types).contains(field.getType())) {
+            return null;
+        }
+
+        return field;
+    }
+
+    private static Field findIdField(Class<?> domainClass) {
+        final Field idField;
+        final List<Field> fields = FieldUtils.getFieldsListWithAnnotation(domainClass, Id.class);
+
+        if (fields.isEmpty()) {
+            idField = ReflectionUtils.findField(domainClass, Constants.ID_PROPERTY_NAME);
+        } else if (fields.size() == 1) {
+            idField = fields.get(0);
+        } else {
+            throw new IllegalArgumentException("only one field with @Id annotation!");
+        }
+
+        if (idField == null) {
+            throw new IllegalArgumentException("domain should contain @Id field or field named id");
+        } else if (idField.getType() != String.class
+                && idField.getType() != Integer.class && idField.getType() != int.class) {
+            throw new IllegalArgumentException("type of id field must be String or Integer");
+        }
+
+        return idField;
+    }
+
+    private static Field findPartitionKeyField(Class<?> domainClass) {
+        Field partitionKey = null;
+
+        final List<Field> fields = FieldUtils.getFieldsListWithAnnotation(domainClass, PartitionKey.class);
+
+        if (fields.size() == 1) {
+            partitionKey = fields.get(0);
+        } else if (fields.size() > 1) {
+            throw new IllegalArgumentException("Azure Cosmos DB supports only one partition key, " +
+                    "only one field with @PartitionKey annotation!");
+        }
+
+        if (partitionKey != null && partitionKey.getType() != String.class) {
+            throw new IllegalArgumentException("type of PartitionKey field must be String");
+        }
+        return partitionKey;
+    }
+
+    private static Field findVersionField(Class<?> domainClass) {
+        final Field field = ReflectionUtils.findField(domainClass, ETAG);
+
+        if (field != null && field.getType() == String.class && field.isAnnotationPresent(Version.class)) {
+            return field;
+        }
+
+        return null;
+    }
+}
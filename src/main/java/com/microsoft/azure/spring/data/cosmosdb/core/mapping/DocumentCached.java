@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+
+import java.lang.annotation.*;
+
+/**
+ * Caches the documents read by id in the document cache of the template, keyed by collection, id and partition key.
+ * <p>
+ * Inserts and upserts through the template refresh the cached document, and deletes evict it. Writes of other
+ * clients are only seen once the cached document expires. An expired document is revalidated by its etag, which
+ * only transfers the document again when it changed.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DocumentCached {
+
+    /**
+     * Seconds a cached document is used before it is read again.
+     */
+    long timeToLiveSeconds() default Constants.DEFAULT_DOCUMENT_CACHE_TIME_TO_LIVE_SECONDS;
+}
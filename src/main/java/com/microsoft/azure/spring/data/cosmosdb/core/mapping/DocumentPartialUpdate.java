@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import java.lang.annotation.*;
+
+/**
+ * Sends only the changed fields when an upsert replaces a document which was read before.
+ * <p>
+ * Documents are snapshotted when they are read, keyed by id and etag. An upsert of an entity whose etag matches
+ * a snapshot is applied as a patch of the changed fields by a stored procedure, any other upsert sends the whole
+ * document. The annotated class must have a {@link org.springframework.data.annotation.Version} field.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DocumentPartialUpdate {
+}
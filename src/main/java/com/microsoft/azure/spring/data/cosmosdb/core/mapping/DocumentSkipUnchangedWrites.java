@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import java.lang.annotation.*;
+
+/**
+ * Skips upserts which would not change the document.
+ * <p>
+ * The template keeps a content hash of every document it writes, keyed by collection and id. An upsert whose
+ * document has the same hash is not sent, for versioned documents only if it also has the etag of that write. The
+ * hashes only know about the writes of this template, so the annotation fits documents which are not modified by
+ * other clients.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DocumentSkipUnchangedWrites {
+}
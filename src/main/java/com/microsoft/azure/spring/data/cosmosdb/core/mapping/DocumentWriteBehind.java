@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+
+import java.lang.annotation.*;
+
+/**
+ * Buffers the upserts of the annotated document in memory and writes them in batches.
+ * <p>
+ * Repeated upserts of the same id and partition key before a flush are coalesced, only the last one is written.
+ * Reads do not see buffered upserts, and failures of buffered upserts are only logged.
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DocumentWriteBehind {
+
+    /**
+     * Number of buffered upserts which triggers a flush.
+     */
+    int flushSize() default Constants.DEFAULT_WRITE_BEHIND_FLUSH_SIZE;
+
+    /**
+     * Milliseconds between two flushes, regardless of the number of buffered upserts.
+     */
+    long flushIntervalMillis() default Constants.DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL_MILLIS;
+
+    /**
+     * Maximum number of buffered upserts, further upserts wait for a flush before they are buffered.
+     */
+    int maxBufferSize() default Constants.DEFAULT_WRITE_BEHIND_MAX_BUFFER_SIZE;
+}
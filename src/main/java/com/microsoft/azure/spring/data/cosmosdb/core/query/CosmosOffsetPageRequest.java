@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * CosmosOffsetPageRequest representing page request which is queried with {@code OFFSET x LIMIT y}, computed
+ * from {@link #getOffset()} and {@link #getPageSize()}.
+ * <p>
+ * Any page can be requested directly without a continuation token, unlike {@link CosmosPageRequest}. The request
+ * charge grows with the offset, as the skipped documents are still read by the service.
+ */
+public class CosmosOffsetPageRequest extends PageRequest {
+    private static final long serialVersionUID = -5166314930711240125L;
+
+    public CosmosOffsetPageRequest(int page, int size, Sort sort) {
+        super(page, size, sort);
+    }
+
+    public static CosmosOffsetPageRequest of(int page, int size) {
+        return new CosmosOffsetPageRequest(page, size, Sort.unsorted());
+    }
+
+    public static CosmosOffsetPageRequest of(int page, int size, Sort sort) {
+        return new CosmosOffsetPageRequest(page, size, sort);
+    }
+
+    @Override
+    public Pageable next() {
+        return new CosmosOffsetPageRequest(getPageNumber() + 1, getPageSize(), getSort());
+    }
+
+    @Override
+    public CosmosOffsetPageRequest previous() {
+        return getPageNumber() == 0 ? this : new CosmosOffsetPageRequest(getPageNumber() - 1, getPageSize(), getSort());
+    }
+
+    @Override
+    public Pageable first() {
+        return new CosmosOffsetPageRequest(0, getPageSize(), getSort());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + CosmosOffsetPageRequest.class.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof CosmosOffsetPageRequest && super.equals(obj);
+    }
+}
@@ -11,6 +11,8 @@ import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +27,18 @@ public class DocumentQuery {
     @Getter
     private Pageable pageable = Pageable.unpaged();
 
+    @Getter
+    private List<String> projection = Collections.emptyList();
+
+    @Getter
+    private int limit;
+
+    /**
+     * How long the documents of the query are served from the query result cache, null when they are not cached.
+     */
+    @Getter
+    private Duration cacheTimeToLive;
+
     public DocumentQuery(@NonNull Criteria criteria) {
         this.criteria = criteria;
     }
@@ -44,6 +58,51 @@ public class DocumentQuery {
         return this;
     }
 
+    /**
+     * Restrict the documents returned by the query to the given fields.
+     *
+     * @param fields The document field names to select, empty list selects the whole document.
+     * @return DocumentQuery
+     */
+    public DocumentQuery withProjection(@NonNull List<String> fields) {
+        Assert.notNull(fields, "fields should not be null");
+
+        this.projection = fields;
+        return this;
+    }
+
+    /**
+     * Limit the number of documents returned by the query.
+     *
+     * @param limit The maximum number of documents, should be larger than 0.
+     * @return DocumentQuery
+     */
+    public DocumentQuery withLimit(int limit) {
+        Assert.isTrue(limit > 0, "limit should be larger than 0");
+
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Serve the documents of the query from the query result cache of the template, until the time to live passes or
+     * a write through the template changes the collection.
+     *
+     * @param timeToLive How long the documents may be served from the cache, should be positive.
+     * @return DocumentQuery
+     */
+    public DocumentQuery withCache(@NonNull Duration timeToLive) {
+        Assert.isTrue(timeToLive != null && !timeToLive.isNegative() && !timeToLive.isZero(),
+            "timeToLive should be positive");
+
+        this.cacheTimeToLive = timeToLive;
+        return this;
+    }
+
+    public boolean isLimited() {
+        return this.limit > 0;
+    }
+
     private boolean isCrossPartitionQuery(@NonNull String keyName) {
         Assert.hasText(keyName, "PartitionKey should have text.");
 
@@ -74,6 +133,37 @@ public class DocumentQuery {
                 .orElse(hasKeywordOr());
     }
 
+    /**
+     * Get the partition key value which every document matching the query has, that is the value of an equality
+     * criteria of the partition key which is only combined by AND with the other criteria.
+     *
+     * @param partitionKeyName The partitionKey name.
+     * @return the partition key value, empty when the query may match documents of several partitions
+     */
+    public Optional<Object> getPartitionKeyValue(@NonNull String partitionKeyName) {
+        Assert.hasText(partitionKeyName, "PartitionKey should have text.");
+
+        return getPartitionKeyValue(this.criteria, partitionKeyName);
+    }
+
+    private Optional<Object> getPartitionKeyValue(@NonNull Criteria criteria, @NonNull String keyName) {
+        if (criteria.getType() == CriteriaType.IS_EQUAL && keyName.equals(criteria.getSubject())) {
+            return Optional.ofNullable(criteria.getSubjectValues().get(0));
+        } else if (criteria.getType() != CriteriaType.AND) {
+            return Optional.empty();
+        }
+
+        for (final Criteria subCriteria : criteria.getSubCriteria()) {
+            final Optional<Object> value = getPartitionKeyValue(subCriteria, keyName);
+
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+
+        return Optional.empty();
+    }
+
     public Optional<Criteria> getCriteriaByType(@NonNull CriteriaType criteriaType) {
         return getCriteriaByType(criteriaType, this.criteria);
     }
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+
+import java.lang.annotation.*;
+
+/**
+ * Caches the documents found by the annotated query method in the query result cache of the template, keyed by
+ * collection, query text and parameters.
+ * <p>
+ * Any write through the template to the collection drops all its cached results. Writes of other clients are only
+ * seen once the cached results expire.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryCached {
+
+    /**
+     * Seconds the documents of a query are served from the cache.
+     */
+    long timeToLiveSeconds() default Constants.DEFAULT_QUERY_CACHE_TIME_TO_LIVE_SECONDS;
+}
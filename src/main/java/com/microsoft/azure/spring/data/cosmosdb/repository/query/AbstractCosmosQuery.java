@@ -6,9 +6,14 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 public abstract class AbstractCosmosQuery implements RepositoryQuery {
 
@@ -25,25 +30,57 @@ public abstract class AbstractCosmosQuery implements RepositoryQuery {
         final DocumentQuery query = createQuery(accessor);
 
         final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
+        final ReturnedType returnedType = processor.getReturnedType();
         final String collection = ((CosmosEntityMetadata) method.getEntityInformation()).getCollectionName();
 
-        final CosmosQueryExecution execution = getExecution(accessor);
-        return execution.execute(query, processor.getReturnedType().getDomainType(), collection);
+        if (isProjectionQuery(returnedType)) {
+            query.withProjection(getProjectionFields(returnedType));
+        }
+
+        if (method.getQueryCacheTimeToLive() != null && !isDeleteQuery()) {
+            query.withCache(method.getQueryCacheTimeToLive());
+        }
+
+        final CosmosQueryExecution execution = getExecution(accessor, returnedType);
+        final Object result = execution.execute(query, returnedType.getDomainType(), collection);
+
+        return returnedType.isProjecting() ? processor.processResult(result) : result;
     }
 
+    /**
+     * Only the properties of a closed projection are selected, the other queries still need the whole document.
+     */
+    private boolean isProjectionQuery(ReturnedType returnedType) {
+        return returnedType.isProjecting() && !returnedType.getInputProperties().isEmpty()
+                && !isDeleteQuery() && !isExistsQuery();
+    }
 
-    private CosmosQueryExecution getExecution(CosmosParameterAccessor accessor) {
+    private List<String> getProjectionFields(ReturnedType returnedType) {
+        final CosmosEntityCodec<?> codec = CosmosEntityCodec.of(returnedType.getDomainType());
+
+        return returnedType.getInputProperties().stream()
+                .map(codec::getDocumentFieldName)
+                .collect(Collectors.toList());
+    }
+
+
+    private CosmosQueryExecution getExecution(CosmosParameterAccessor accessor,
+                                               ReturnedType returnedType) {
         if (isDeleteQuery()) {
-            return new CosmosQueryExecution.DeleteExecution(operations);
+            return new CosmosQueryExecution.DeleteExecution(operations, !isVoid(method.getReturnedObjectType()));
         } else if (method.isPageQuery()) {
             return new CosmosQueryExecution.PagedExecution(operations, accessor.getPageable());
         } else if (isExistsQuery()) {
             return new CosmosQueryExecution.ExistsExecution(operations);
         } else {
-            return new CosmosQueryExecution.MultiEntityExecution(operations);
+            return new CosmosQueryExecution.MultiEntityExecution(operations, returnedType.getTypeToRead());
         }
     }
 
+    private static boolean isVoid(Class<?> type) {
+        return type == void.class || type == Void.class;
+    }
+
     public CosmosQueryMethod getQueryMethod() {
         return method;
     }
@@ -6,9 +6,14 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import java.util.List;
+import java.util.stream.Collectors;
 
 public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
 
@@ -28,15 +33,43 @@ public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
 
         final ResultProcessor processor =
             method.getResultProcessor().withDynamicProjection(accessor);
+        final ReturnedType returnedType = processor.getReturnedType();
         final String collection =
             ((ReactiveCosmosEntityMetadata) method.getEntityInformation()).getCollectionName();
 
-        final ReactiveCosmosQueryExecution execution = getExecution(accessor);
-        return execution.execute(query, processor.getReturnedType().getDomainType(), collection);
+        if (isProjectionQuery(returnedType)) {
+            query.withProjection(getProjectionFields(returnedType));
+        }
+
+        if (method.getQueryCacheTimeToLive() != null && !isDeleteQuery()) {
+            query.withCache(method.getQueryCacheTimeToLive());
+        }
+
+        final ReactiveCosmosQueryExecution execution = getExecution(accessor, returnedType);
+        final Object result = execution.execute(query, returnedType.getDomainType(), collection);
+
+        return returnedType.isProjecting() ? processor.processResult(result) : result;
+    }
+
+    /**
+     * Only the properties of a closed projection are selected, the other queries still need the whole document.
+     */
+    private boolean isProjectionQuery(ReturnedType returnedType) {
+        return returnedType.isProjecting() && !returnedType.getInputProperties().isEmpty()
+            && !isDeleteQuery() && !isExistsQuery();
+    }
+
+    private List<String> getProjectionFields(ReturnedType returnedType) {
+        final CosmosEntityCodec<?> codec = CosmosEntityCodec.of(returnedType.getDomainType());
+
+        return returnedType.getInputProperties().stream()
+            .map(codec::getDocumentFieldName)
+            .collect(Collectors.toList());
     }
 
 
-    private ReactiveCosmosQueryExecution getExecution(ReactiveCosmosParameterAccessor accessor) {
+    private ReactiveCosmosQueryExecution getExecution(ReactiveCosmosParameterAccessor accessor,
+                                                      ReturnedType returnedType) {
         if (isDeleteQuery()) {
             return new ReactiveCosmosQueryExecution.DeleteExecution(operations);
         } else if (method.isPageQuery()) {
@@ -45,7 +78,7 @@ public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
         } else if (isExistsQuery()) {
             return new ReactiveCosmosQueryExecution.ExistsExecution(operations);
         } else {
-            return new ReactiveCosmosQueryExecution.MultiEntityExecution(operations);
+            return new ReactiveCosmosQueryExecution.MultiEntityExecution(operations, returnedType.getTypeToRead());
         }
     }
 
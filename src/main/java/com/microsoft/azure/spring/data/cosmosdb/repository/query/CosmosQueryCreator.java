@@ -5,12 +5,11 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
-import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
-import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.parser.AbstractQueryCreator;
@@ -38,17 +37,10 @@ public class CosmosQueryCreator extends AbstractQueryCreator<DocumentQuery, Crit
     }
 
     private String getSubject(@NonNull Part part) {
-        String subject = mappingContext.getPersistentPropertyPath(part.getProperty()).toDotPath();
+        final String subject = mappingContext.getPersistentPropertyPath(part.getProperty()).toDotPath();
         final Class<?> domainClass = part.getProperty().getOwningType().getType();
 
-        @SuppressWarnings("unchecked") final CosmosEntityInformation information =
-                new CosmosEntityInformation(domainClass);
-
-        if (information.getIdField().getName().equals(subject)) {
-            subject = Constants.ID_PROPERTY_NAME;
-        }
-
-        return subject;
+        return CosmosEntityCodec.of(domainClass).getDocumentFieldName(subject);
     }
 
     @Override // Note (panli): side effect here, this method will change the iterator status of parameters.
@@ -82,7 +74,11 @@ public class CosmosQueryCreator extends AbstractQueryCreator<DocumentQuery, Crit
     }
 
     @Override
-    protected DocumentQuery complete(@NonNull Criteria criteria, @NonNull Sort sort) {
+    protected DocumentQuery complete(Criteria criteria, @NonNull Sort sort) {
+        if (criteria == null) { // no predicate, e.g. findTop10ByOrderByName
+            return new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)).with(sort);
+        }
+
         return new DocumentQuery(criteria).with(sort);
     }
 }
@@ -6,6 +6,7 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosOffsetPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import org.springframework.data.domain.Pageable;
@@ -30,14 +31,24 @@ public interface CosmosQueryExecution {
     final class MultiEntityExecution implements CosmosQueryExecution {
 
         private final CosmosOperations operations;
+        private final Class<?> returnType;
 
         public MultiEntityExecution(CosmosOperations operations) {
+            this(operations, null);
+        }
+
+        public MultiEntityExecution(CosmosOperations operations, Class<?> returnType) {
             this.operations = operations;
+            this.returnType = returnType;
         }
 
         @Override
         public Object execute(DocumentQuery query, Class<?> type, String collection) {
-            return operations.find(query, type, collection);
+            if (returnType == null || returnType == type) {
+                return operations.find(query, type, collection);
+            }
+
+            return operations.find(query, type, returnType, collection);
         }
     }
 
@@ -58,13 +69,28 @@ public interface CosmosQueryExecution {
     final class DeleteExecution implements CosmosQueryExecution {
 
         private final CosmosOperations operations;
+        private final boolean returnsDeleted;
 
         public DeleteExecution(CosmosOperations operations) {
+            this(operations, true);
+        }
+
+        /**
+         * @param operations     the operations
+         * @param returnsDeleted whether the deleted entities are returned, otherwise they are not converted
+         */
+        public DeleteExecution(CosmosOperations operations, boolean returnsDeleted) {
             this.operations = operations;
+            this.returnsDeleted = returnsDeleted;
         }
 
         @Override
         public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            if (!returnsDeleted) {
+                operations.deleteAll(query, type, collection);
+                return null;
+            }
+
             return operations.delete(query, type, collection);
         }
     }
@@ -80,9 +106,10 @@ public interface CosmosQueryExecution {
 
         @Override
         public Object execute(DocumentQuery query, Class<?> type, String collection) {
-            if (pageable.getPageNumber() != 0 && !(pageable instanceof CosmosPageRequest)) {
-                throw new IllegalStateException("Not the first page but Pageable is not a valid " +
-                        "CosmosPageRequest, requestContinuation is required for non first page request");
+            if (pageable.getPageNumber() != 0 && !(pageable instanceof CosmosPageRequest)
+                    && !(pageable instanceof CosmosOffsetPageRequest)) {
+                throw new IllegalStateException("Not the first page but Pageable is not a valid CosmosPageRequest " +
+                        "or CosmosOffsetPageRequest, requestContinuation is required for non first page request");
             }
 
             query.with(pageable);
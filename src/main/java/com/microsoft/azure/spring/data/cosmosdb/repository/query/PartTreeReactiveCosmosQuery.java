@@ -8,7 +8,6 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
-import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -34,7 +33,7 @@ public class PartTreeReactiveCosmosQuery extends AbstractReactiveCosmosQuery {
         final DocumentQuery query = creator.createQuery();
 
         if (tree.isLimiting()) {
-            throw new NotImplementedException("Limiting is not supported.");
+            query.withLimit(tree.getMaxResults());
         }
 
         return query;
@@ -28,14 +28,24 @@ public interface ReactiveCosmosQueryExecution {
     final class MultiEntityExecution implements ReactiveCosmosQueryExecution {
 
         private final ReactiveCosmosOperations operations;
+        private final Class<?> returnType;
 
         public MultiEntityExecution(ReactiveCosmosOperations operations) {
+            this(operations, null);
+        }
+
+        public MultiEntityExecution(ReactiveCosmosOperations operations, Class<?> returnType) {
             this.operations = operations;
+            this.returnType = returnType;
         }
 
         @Override
         public Object execute(DocumentQuery query, Class<?> type, String collection) {
-            return operations.find(query, type, collection);
+            if (returnType == null || returnType == type) {
+                return operations.find(query, type, collection);
+            }
+
+            return operations.find(query, type, returnType, collection);
         }
     }
 
@@ -5,20 +5,26 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
+import com.microsoft.azure.spring.data.cosmosdb.repository.QueryCached;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityMetadata;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.util.Assert;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
 
 public class ReactiveCosmosQueryMethod extends QueryMethod {
 
     private ReactiveCosmosEntityMetadata<?> metadata;
+    private final Duration queryCacheTimeToLive;
 
     public ReactiveCosmosQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
+        this.queryCacheTimeToLive = findQueryCacheTimeToLive(method);
     }
 
     @Override
@@ -31,4 +37,23 @@ public class ReactiveCosmosQueryMethod extends QueryMethod {
         this.metadata = new SimpleReactiveCosmosEntityMetadata<Object>(domainClass, entityInformation);
         return this.metadata;
     }
+
+    /**
+     * @return how long the results of the query method are cached, null when it is not {@link QueryCached}
+     */
+    public Duration getQueryCacheTimeToLive() {
+        return this.queryCacheTimeToLive;
+    }
+
+    private static Duration findQueryCacheTimeToLive(Method method) {
+        final QueryCached queryCached = AnnotatedElementUtils.findMergedAnnotation(method, QueryCached.class);
+
+        if (queryCached == null) {
+            return null;
+        }
+
+        Assert.isTrue(queryCached.timeToLiveSeconds() > 0, "timeToLiveSeconds of @QueryCached should be positive");
+
+        return Duration.ofSeconds(queryCached.timeToLiveSeconds());
+    }
 }
@@ -11,17 +11,15 @@ import com.azure.data.cosmos.IncludedPath;
 import com.azure.data.cosmos.IndexingMode;
 import com.azure.data.cosmos.IndexingPolicy;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosEntityCodec;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentIndexingPolicy;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentWriteBehind;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
-import org.apache.commons.lang3.reflect.FieldUtils;
-
 import org.json.JSONObject;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.annotation.Version;
 import org.springframework.data.repository.core.support.AbstractEntityInformation;
 import org.springframework.lang.NonNull;
-import org.springframework.util.ReflectionUtils;
+import org.springframework.lang.Nullable;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.ExpressionResolver.resolveExpression;
 
@@ -32,7 +30,7 @@ import java.util.List;
 
 public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T, ID> {
 
-    private static final String ETAG = "_etag";
+    private final CosmosEntityCodec<T> codec;
     private Field id;
     private Field partitionKeyField;
     private String collectionName;
@@ -40,28 +38,27 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
     private Integer timeToLive;
     private IndexingPolicy indexingPolicy;
     private boolean isVersioned;
+    private DocumentWriteBehind writeBehind;
 
     public CosmosEntityInformation(Class<T> domainClass) {
         super(domainClass);
 
-        this.id = getIdField(domainClass);
-        ReflectionUtils.makeAccessible(this.id);
+        this.codec = CosmosEntityCodec.of(domainClass);
+        this.id = codec.getIdField();
 
         this.collectionName = getCollectionName(domainClass);
-        this.partitionKeyField = getPartitionKeyField(domainClass);
-        if (this.partitionKeyField != null) {
-            ReflectionUtils.makeAccessible(this.partitionKeyField);
-        }
+        this.partitionKeyField = codec.getPartitionKeyField();
 
         this.requestUnit = getRequestUnit(domainClass);
         this.timeToLive = getTimeToLive(domainClass);
         this.indexingPolicy = getIndexingPolicy(domainClass);
-        this.isVersioned = getIsVersioned(domainClass);
+        this.isVersioned = codec.isVersioned();
+        this.writeBehind = domainClass.getAnnotation(DocumentWriteBehind.class);
     }
 
     @SuppressWarnings("unchecked")
     public ID getId(T entity) {
-        return (ID) ReflectionUtils.getField(id, entity);
+        return (ID) codec.getId(entity);
     }
 
     public Field getIdField() {
@@ -94,6 +91,16 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
         return isVersioned;
     }
 
+    /**
+     * Get the write behind configuration of the domain class.
+     *
+     * @return the {@link DocumentWriteBehind} annotation, null when upserts are written immediately
+     */
+    @Nullable
+    public DocumentWriteBehind getWriteBehind() {
+        return writeBehind;
+    }
+
     public String getPartitionKeyFieldName() {
         if (partitionKeyField == null) {
             return null;
@@ -104,7 +111,29 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
     }
 
     public String getPartitionKeyFieldValue(T entity) {
-        return partitionKeyField == null ? null : (String) ReflectionUtils.getField(partitionKeyField, entity);
+        return codec.getPartitionKeyValue(entity);
+    }
+
+    /**
+     * Get the partition key of the entity with the given id, when it does not depend on other fields.
+     *
+     * @param id the entity id
+     * @return {@code PartitionKey.None} without partition key field, the id when it is the partition key field,
+     * otherwise null
+     */
+    @Nullable
+    public com.azure.data.cosmos.PartitionKey getPartitionKeyOfId(@NonNull Object id) {
+        if (partitionKeyField == null) {
+            return com.azure.data.cosmos.PartitionKey.None;
+        } else if (partitionKeyField.equals(this.id)) {
+            return new com.azure.data.cosmos.PartitionKey(id.toString());
+        }
+
+        return null;
+    }
+
+    public CosmosEntityCodec<T> getCodec() {
+        return this.codec;
     }
 
     private IndexingPolicy getIndexingPolicy(Class<?> domainClass) {
@@ -118,28 +147,6 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
         return policy;
     }
 
-    private Field getIdField(Class<?> domainClass) {
-        final Field idField;
-        final List<Field> fields = FieldUtils.getFieldsListWithAnnotation(domainClass, Id.class);
-
-        if (fields.isEmpty()) {
-            idField = ReflectionUtils.findField(getJavaType(), Constants.ID_PROPERTY_NAME);
-        } else if (fields.size() == 1) {
-            idField = fields.get(0);
-        } else {
-            throw new IllegalArgumentException("only one field with @Id annotation!");
-        }
-
-        if (idField == null) {
-            throw new IllegalArgumentException("domain should contain @Id field or field named id");
-        } else if (idField.getType() != String.class
-                && idField.getType() != Integer.class && idField.getType() != int.class) {
-            throw new IllegalArgumentException("type of id field must be String or Integer");
-        }
-
-        return idField;
-    }
-
     private String getCollectionName(Class<?> domainClass) {
         String customCollectionName = domainClass.getSimpleName();
 
@@ -152,24 +159,6 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
         return customCollectionName;
     }
 
-    private Field getPartitionKeyField(Class<?> domainClass) {
-        Field partitionKey = null;
-
-        final List<Field> fields = FieldUtils.getFieldsListWithAnnotation(domainClass, PartitionKey.class);
-
-        if (fields.size() == 1) {
-            partitionKey = fields.get(0);
-        } else if (fields.size() > 1) {
-            throw new IllegalArgumentException("Azure Cosmos DB supports only one partition key, " +
-                    "only one field with @PartitionKey annotation!");
-        }
-
-        if (partitionKey != null && partitionKey.getType() != String.class) {
-            throw new IllegalArgumentException("type of PartitionKey field must be String");
-        }
-        return partitionKey;
-    }
-
     private Integer getRequestUnit(Class<?> domainClass) {
         Integer ru = Integer.parseInt(Constants.DEFAULT_REQUEST_UNIT);
         final Document annotation = domainClass.getAnnotation(Document.class);
@@ -248,12 +237,4 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
         return pathArrayList;
     }
 
-    private boolean getIsVersioned(Class<T> domainClass) {
-        final Field findField = ReflectionUtils.findField(domainClass, ETAG);
-        return findField != null 
-                && findField.getType() == String.class
-                && findField.isAnnotationPresent(Version.class);
-    }
-
 }
-
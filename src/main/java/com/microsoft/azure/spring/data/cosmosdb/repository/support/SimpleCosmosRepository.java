@@ -8,10 +8,12 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 import com.azure.data.cosmos.CosmosContainerProperties;
 import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkWriteResult;
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.CosmosRepository;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Page;
@@ -22,9 +24,9 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 
 public class SimpleCosmosRepository<T, ID extends Serializable> implements CosmosRepository<T, ID> {
 
@@ -84,21 +86,54 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
     }
 
     /**
-     * batch save entities
+     * batch save entities, new entities are inserted and the others upserted with concurrent requests
      *
      * @param entities
      * @param <S>
      * @return
+     * @throws CosmosDBAccessException when any entity fails to be saved, after all the others are saved
      */
     @Override
     public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
         Assert.notNull(entities, "Iterable entities should not be null");
 
-        entities.forEach(this::save);
+        final List<S> newEntities = new ArrayList<>();
+        final List<S> existingEntities = new ArrayList<>();
+
+        for (final S entity : entities) {
+            Assert.notNull(entity, "entity must not be null");
+
+            if (information.isNew(entity)) {
+                newEntities.add(entity);
+            } else {
+                existingEntities.add(entity);
+            }
+        }
+
+        final List<BulkWriteResult.Failure<S>> failures = new ArrayList<>();
+
+        if (!newEntities.isEmpty()) {
+            failures.addAll(operation.bulkInsert(information.getCollectionName(), newEntities).getFailures());
+        }
+
+        if (!existingEntities.isEmpty()) {
+            failures.addAll(operation.bulkUpsert(information.getCollectionName(), existingEntities).getFailures());
+        }
+
+        throwOnFailures("save", failures);
 
         return entities;
     }
 
+    private static <S> void throwOnFailures(String action, List<BulkWriteResult.Failure<S>> failures) {
+        if (!failures.isEmpty()) {
+            final CosmosDBAccessException exception = new CosmosDBAccessException(
+                    String.format("Failed to %s %d entities", action, failures.size()), failures.get(0).getCause());
+            failures.stream().skip(1).forEach(failure -> exception.addSuppressed(failure.getCause()));
+            throw exception;
+        }
+    }
+
     /**
      * find all entities from one collection without configuring partition key value
      *
@@ -205,15 +240,16 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
     }
 
     /**
-     * delete list of entities without partitions
+     * delete list of entities without partitions, with concurrent requests
      *
      * @param entities
+     * @throws CosmosDBAccessException when any entity fails to be deleted, after all the others are deleted
      */
     @Override
     public void deleteAll(Iterable<? extends T> entities) {
         Assert.notNull(entities, "Iterable entities should not be null");
 
-        StreamSupport.stream(entities.spliterator(), true).forEach(this::delete);
+        throwOnFailures("delete", operation.bulkDelete(information.getCollectionName(), entities).getFailures());
     }
 
     /**
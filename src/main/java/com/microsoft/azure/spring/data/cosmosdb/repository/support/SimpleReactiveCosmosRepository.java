@@ -139,13 +139,16 @@ public class SimpleReactiveCosmosRepository<T, K extends Serializable> implement
     @Override
     public Flux<T> findAllById(Iterable<K> ids) {
         Assert.notNull(ids, "Iterable ids should not be null");
-        throw new UnsupportedOperationException();
+
+        return findAllById(Flux.fromIterable(ids));
     }
 
     @Override
     public Flux<T> findAllById(Publisher<K> ids) {
         Assert.notNull(ids, "The given Publisher of Id's must not be null!");
-        throw new UnsupportedOperationException();
+
+        return cosmosOperations.findByIds(ids, entityInformation.getJavaType(),
+            entityInformation.getCollectionName(), false);
     }
 
     @Override
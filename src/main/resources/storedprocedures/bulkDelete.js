@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+/**
+ * Deletes the documents of one partition which match the given query, for as long as the execution is allowed to
+ * run. The documents deleted before the execution is stopped stay deleted.
+ *
+ * @param query the query spec of the documents to delete
+ * @return the number of deleted documents, and whether the query may still match documents
+ */
+function bulkDelete(query) {
+    var collection = getContext().getCollection();
+    var response = getContext().getResponse();
+    var deleted = 0;
+
+    queryAndDelete(undefined);
+
+    function queryAndDelete(continuation) {
+        var isAccepted = collection.queryDocuments(collection.getSelfLink(), query, { continuation: continuation },
+            function (error, documents, options) {
+                if (error) {
+                    throw error;
+                }
+
+                deleteDocuments(documents, 0, options.continuation);
+            });
+
+        if (!isAccepted) {
+            done(true);
+        }
+    }
+
+    function deleteDocuments(documents, index, continuation) {
+        if (index >= documents.length) {
+            if (continuation) {
+                queryAndDelete(continuation);
+            } else {
+                done(false);
+            }
+            return;
+        }
+
+        var isAccepted = collection.deleteDocument(documents[index]._self, {}, function (error) {
+            if (error) {
+                throw error;
+            }
+
+            deleted++;
+            deleteDocuments(documents, index + 1, continuation);
+        });
+
+        if (!isAccepted) {
+            done(true);
+        }
+    }
+
+    function done(continuation) {
+        response.setBody({ deleted: deleted, continuation: continuation });
+    }
+}
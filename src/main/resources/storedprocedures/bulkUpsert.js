@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+/**
+ * Upserts the given documents of one partition in one transaction, any failure rolls back all of them.
+ *
+ * @param documents the documents to upsert
+ * @param versioned whether the upsert of a document with an etag requires the etag to match
+ * @return the upserted documents, in the given order
+ */
+function bulkUpsert(documents, versioned) {
+    var collection = getContext().getCollection();
+    var response = getContext().getResponse();
+    var upserted = [];
+
+    upsert(0);
+
+    function upsert(index) {
+        if (index >= documents.length) {
+            response.setBody(upserted);
+            return;
+        }
+
+        var document = documents[index];
+        var options = {};
+
+        if (versioned && document._etag) {
+            options.accessCondition = { type: 'IfMatch', condition: document._etag };
+        }
+
+        var isAccepted = collection.upsertDocument(collection.getSelfLink(), document, options,
+            function (error, upsertedDocument) {
+                if (error) {
+                    throw error;
+                }
+
+                upserted.push(upsertedDocument);
+                upsert(index + 1);
+            });
+
+        if (!isAccepted) {
+            throw new Error('Upsert of ' + documents.length + ' documents is not accepted, use a smaller batch');
+        }
+    }
+}
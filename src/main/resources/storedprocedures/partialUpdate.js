@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+/**
+ * Applies field operations to a document, if it did not change since the given etag.
+ *
+ * @param id         the document id
+ * @param etag       the etag the operations are based on
+ * @param operations the operations, each with the field path and either the new value or remove set to true
+ * @return the replaced document
+ */
+function partialUpdate(id, etag, operations) {
+    var collection = getContext().getCollection();
+    var response = getContext().getResponse();
+
+    var isAccepted = collection.readDocument(collection.getAltLink() + '/docs/' + id, {},
+        function (error, document) {
+            if (error) {
+                throw error;
+            }
+
+            if (document._etag !== etag) {
+                throw new Error('Document ' + id + ' changed since etag ' + etag);
+            }
+
+            operations.forEach(function (operation) {
+                apply(document, operation);
+            });
+
+            var isReplaceAccepted = collection.replaceDocument(document._self, document,
+                { accessCondition: { type: 'IfMatch', condition: etag } },
+                function (replaceError, replacedDocument) {
+                    if (replaceError) {
+                        throw replaceError;
+                    }
+
+                    response.setBody(replacedDocument);
+                });
+
+            if (!isReplaceAccepted) {
+                throw new Error('Replace of document ' + id + ' is not accepted');
+            }
+        });
+
+    if (!isAccepted) {
+        throw new Error('Read of document ' + id + ' is not accepted');
+    }
+
+    function apply(document, operation) {
+        var parent = document;
+
+        for (var i = 0; i < operation.path.length - 1; i++) {
+            var child = parent[operation.path[i]];
+
+            if (child === null || typeof child !== 'object' || Array.isArray(child)) {
+                child = {};
+                parent[operation.path[i]] = child;
+            }
+
+            parent = child;
+        }
+
+        var name = operation.path[operation.path.length - 1];
+
+        if (operation.remove) {
+            delete parent[name];
+        } else {
+            parent[name] = operation.value;
+        }
+    }
+}
@@ -92,6 +92,7 @@ public class TestConstants {
     public static final String ID_2 = "id-2";
     public static final String ID_3 = "id-3";
     public static final String ID_4 = "id-4";
+    public static final String ETAG = "\"00000000-0000-0000-0000-000000000000\"";
     public static final String NEW_FIRST_NAME = "new_first_name";
     public static final String NEW_LAST_NAME = "new_last_name";
     public static final String UPDATED_FIRST_NAME = "updated_first_name";
@@ -142,6 +143,7 @@ public class TestConstants {
     public static final String PROPERTY_HOBBIES = "hobbies";
     public static final String PROPERTY_SHIPPING_ADDRESSES = "shippingAddresses";
 
+    public static final String PROPERTY_POSTAL_CODE = "postalCode";
     public static final String PROPERTY_CITY = "city";
     public static final String PROPERTY_STREET = "street";
 
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchMetricsUnitTest {
+
+    private static final String OPERATION = "bulkUpsert";
+    private static final String COLLECTION = "collection";
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final BatchMetrics metrics = new BatchMetrics(registry);
+
+    @Test
+    public void testQueuedItemsOfConcurrentBatches() {
+        final BatchMetrics.Batch first = metrics.start(OPERATION, COLLECTION, 3);
+        final BatchMetrics.Batch second = metrics.start(OPERATION, COLLECTION, 2);
+        assertThat(getQueued()).isEqualTo(5);
+
+        first.started(1);
+        second.started(2);
+        assertThat(getQueued()).isEqualTo(2);
+
+        second.started(1);
+        assertThat(getQueued()).isEqualTo(2);
+
+        first.stop();
+        second.stop();
+        assertThat(getQueued()).isEqualTo(0);
+    }
+
+    @Test
+    public void testLatencyOfEveryBatchIsRecorded() {
+        metrics.start(OPERATION, COLLECTION, 1).stop();
+        metrics.start(OPERATION, COLLECTION, 1).stop();
+        metrics.start("findByIds", COLLECTION, 1).stop();
+
+        assertThat(registry.get(Constants.METRIC_BATCH_LATENCY)
+                .tag(Constants.METRIC_TAG_OPERATION, OPERATION)
+                .tag(Constants.METRIC_TAG_COLLECTION, COLLECTION)
+                .timer().count()).isEqualTo(2);
+    }
+
+    private double getQueued() {
+        return registry.get(Constants.METRIC_BATCH_QUEUED)
+                .tag(Constants.METRIC_TAG_OPERATION, OPERATION)
+                .tag(Constants.METRIC_TAG_COLLECTION, COLLECTION)
+                .gauge().value();
+    }
+}
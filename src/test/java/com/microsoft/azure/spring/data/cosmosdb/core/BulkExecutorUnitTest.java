@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.BridgeInternal;
+import com.azure.data.cosmos.internal.HttpConstants;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkExecutorUnitTest {
+
+    private static final List<Integer> ENTITIES = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+
+    @Test
+    public void testWrittenEntitiesKeepGivenOrder() {
+        final BulkWriteResult<Integer> result = BulkExecutor.execute(ENTITIES, entity -> entity % 3, 4,
+            entity -> Mono.just(entity).delayElement(Duration.ofMillis(10 - entity))).block();
+
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(result.getWritten()).containsExactlyElementsOf(ENTITIES);
+    }
+
+    @Test
+    public void testPartitionsAreInterleaved() {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        BulkExecutor.execute(Arrays.asList(0, 2, 4, 1, 3, 6), entity -> entity % 2, 1, entity -> {
+            order.add(entity);
+            return Mono.just(entity);
+        }).block();
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 6);
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        BulkExecutor.execute(ENTITIES, entity -> null, 3, entity -> Mono.just(entity)
+                .delaySubscription(Duration.ofMillis(10))
+                .doOnSubscribe(s -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .doOnSuccess(e -> running.decrementAndGet()))
+                .block();
+
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testFailuresAreReportedPerEntity() {
+        final BulkWriteResult<Integer> result = BulkExecutor.execute(ENTITIES, entity -> entity, 4,
+            entity -> entity % 4 == 0 ? Mono.error(new IllegalStateException("failed " + entity)) : Mono.just(entity))
+                .block();
+
+        assertThat(result.hasFailures()).isTrue();
+        assertThat(result.getWritten()).containsExactly(1, 2, 3, 5, 6, 7, 9);
+        assertThat(result.getFailures()).extracting(BulkWriteResult.Failure::getEntity).containsExactly(0, 4, 8);
+        assertThat(result.getFailures().get(1).getCause()).hasMessage("failed 4");
+    }
+
+    @Test
+    public void testThrowingWriterIsReportedPerEntity() {
+        final BulkWriteResult<Integer> result = BulkExecutor.execute(ENTITIES, entity -> entity, 4, entity -> {
+            if (entity == 3) {
+                throw new IllegalArgumentException("unmapped " + entity);
+            }
+            return Mono.just(entity);
+        }).block();
+
+        assertThat(result.getWritten()).containsExactly(0, 1, 2, 4, 5, 6, 7, 8, 9);
+        assertThat(result.getFailures()).extracting(BulkWriteResult.Failure::getEntity).containsExactly(3);
+        assertThat(result.getFailures().get(0).getCause()).hasMessage("unmapped 3");
+    }
+
+    @Test
+    public void testThrowingBatchWriterIsReportedPerBatch() {
+        final BulkWriteResult<Integer> result = BulkExecutor.<Integer, Integer>executeBatches(ENTITIES,
+            entity -> entity % 2, 10, 2, (partitionKey, batch) -> {
+                if (partitionKey == 1) {
+                    throw new IllegalArgumentException("unmapped");
+                }
+                return Mono.just(batch);
+            }).block();
+
+        assertThat(result.getWritten()).containsExactly(0, 2, 4, 6, 8);
+        assertThat(result.getFailures()).extracting(BulkWriteResult.Failure::getEntity)
+                .containsExactly(1, 3, 5, 7, 9);
+    }
+
+    @Test
+    public void testBatchesContainOnePartitionWithMaximumSize() {
+        final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+        final BulkWriteResult<Integer> result = BulkExecutor.<Integer, Integer>executeBatches(ENTITIES,
+            entity -> entity % 2, 3, 2, (partitionKey, batch) -> {
+                assertThat(batch).allMatch(entity -> entity % 2 == partitionKey);
+                batches.add(batch);
+                return Mono.just(batch);
+            }).block();
+
+        assertThat(batches).containsExactlyInAnyOrder(Arrays.asList(0, 2, 4), Arrays.asList(6, 8),
+                Arrays.asList(1, 3, 5), Arrays.asList(7, 9));
+        assertThat(result.getWritten()).containsExactlyElementsOf(ENTITIES);
+    }
+
+    @Test
+    public void testFailedBatchReportsAllItsEntities() {
+        final BulkWriteResult<Integer> result = BulkExecutor.<Integer, Integer>executeBatches(ENTITIES,
+            entity -> entity % 2, 10, 2, (partitionKey, batch) ->
+                partitionKey == 0 ? Mono.error(new IllegalStateException()) : Mono.just(batch)).block();
+
+        assertThat(result.getWritten()).containsExactly(1, 3, 5, 7, 9);
+        assertThat(result.getFailures()).extracting(BulkWriteResult.Failure::getEntity)
+                .containsExactly(0, 2, 4, 6, 8);
+    }
+
+    @Test
+    public void testStreamIsInterleavedPerWindow() {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        final List<Integer> written = BulkExecutor.executeStream(Flux.just(0, 2, 1, 3, 4, 6, 8, 5),
+            entity -> entity % 2, 4, 1, entity -> {
+                order.add(entity);
+                return Mono.just(entity);
+            }).collectList().block();
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4, 5, 6, 8);
+        assertThat(written).containsExactlyElementsOf(order);
+    }
+
+    @Test
+    public void testStreamStopsAtFirstFailure() {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+        assertThatThrownBy(() -> BulkExecutor.executeStream(Flux.fromIterable(ENTITIES), entity -> null, 3, 1,
+            entity -> {
+                order.add(entity);
+                return entity == 4 ? Mono.error(new IllegalStateException("failed")) : Mono.just(entity);
+            }).blockLast()).hasMessage("failed");
+
+        assertThat(order).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void testThrottledRequestIsRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Mono<Integer> request = Mono.fromCallable(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS);
+            }
+            return attempts.get();
+        });
+
+        assertThat(BulkExecutor.retryThrottled(request, 2).block()).isEqualTo(3);
+    }
+
+    @Test
+    public void testThrottledRetriesAreBounded() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Mono<Integer> request = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.TOO_MANY_REQUESTS));
+        });
+
+        assertThatThrownBy(() -> BulkExecutor.retryThrottled(request, 2).block());
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testOtherErrorsAreNotRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        final Mono<Integer> request = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.NOTFOUND));
+        });
+
+        assertThatThrownBy(() -> BulkExecutor.retryThrottled(request, 2).block());
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChunkedIdQueryUnitTest {
+
+    private static final List<String> IDS = IntStream.range(0, 10).mapToObj(String::valueOf)
+            .collect(Collectors.toList());
+
+    @Test
+    public void testIdsAreSplitIntoChunks() {
+        final List<Collection<?>> chunks = Collections.synchronizedList(new ArrayList<>());
+
+        final List<String> ids = ChunkedIdQuery.execute(Flux.fromIterable(IDS), 4, 2, false, query -> {
+            final Collection<?> chunk = getIds(query);
+            chunks.add(chunk);
+            return toDocuments(chunk);
+        }).map(CosmosItemProperties::id).collectList().block();
+
+        assertThat(chunks).extracting(Collection::size).containsExactlyInAnyOrder(4, 4, 2);
+        assertThat(ids).containsExactlyInAnyOrderElementsOf(IDS);
+    }
+
+    @Test
+    public void testConcurrencyIsBounded() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        ChunkedIdQuery.execute(Flux.fromIterable(IDS), 1, 3, false, query -> toDocuments(getIds(query))
+                .delaySubscription(Duration.ofMillis(10))
+                .doOnSubscribe(s -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .doOnComplete(running::decrementAndGet))
+                .blockLast();
+
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testPreserveOrderOfIds() {
+        final List<String> ids = ChunkedIdQuery.execute(Flux.fromIterable(IDS), 3, 4, true, query -> {
+            final List<?> chunk = new ArrayList<>(getIds(query));
+            Collections.reverse(chunk);
+            // Later chunks complete first
+            return toDocuments(chunk).delaySubscription(Duration.ofMillis(50 - 5L * Integer.parseInt(
+                    chunk.get(0).toString())));
+        }).map(CosmosItemProperties::id).collectList().block();
+
+        assertThat(ids).containsExactlyElementsOf(IDS);
+    }
+
+    private static Collection<?> getIds(DocumentQuery query) {
+        assertThat(query.getCriteria().getType()).isEqualTo(CriteriaType.IN);
+        return (Collection<?>) query.getCriteria().getSubjectValues().get(0);
+    }
+
+    private static Flux<CosmosItemProperties> toDocuments(Collection<?> ids) {
+        return Flux.fromIterable(ids).map(id -> {
+            final CosmosItemProperties document = new CosmosItemProperties();
+            document.id(String.valueOf(id));
+            return document;
+        });
+    }
+}
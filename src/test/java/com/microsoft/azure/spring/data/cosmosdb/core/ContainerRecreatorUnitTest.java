@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.BridgeInternal;
+import com.azure.data.cosmos.CosmosContainer;
+import com.azure.data.cosmos.CosmosContainerProperties;
+import com.azure.data.cosmos.CosmosContainerResponse;
+import com.azure.data.cosmos.CosmosDatabase;
+import com.azure.data.cosmos.internal.HttpConstants;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContainerRecreatorUnitTest {
+
+    private static final String CONTAINER_NAME = "container";
+    private static final int THROUGHPUT = 1000;
+    private static final int DEFAULT_TIME_TO_LIVE = 60;
+
+    @Mock
+    private CosmosDatabase database;
+    @Mock
+    private CosmosContainer container;
+    @Mock
+    private CosmosContainerResponse readResponse;
+    @Mock
+    private CosmosContainerResponse deleteResponse;
+    @Mock
+    private CosmosContainerResponse createResponse;
+
+    @Before
+    public void setup() {
+        final CosmosContainerProperties properties = new CosmosContainerProperties(CONTAINER_NAME, "/lastName");
+        BridgeInternal.setProperty(properties, "defaultTtl", DEFAULT_TIME_TO_LIVE);
+
+        when(database.getContainer(CONTAINER_NAME)).thenReturn(container);
+        when(container.read()).thenReturn(Mono.just(readResponse));
+        when(readResponse.properties()).thenReturn(properties);
+        when(container.delete()).thenReturn(Mono.just(deleteResponse));
+    }
+
+    @Test
+    public void testContainerIsRecreatedWithSameSettings() {
+        when(container.readProvisionedThroughput()).thenReturn(Mono.just(THROUGHPUT));
+        final ArgumentCaptor<CosmosContainerProperties> created = ArgumentCaptor.forClass(
+                CosmosContainerProperties.class);
+        when(database.createContainer(created.capture(), any(Integer.class))).thenReturn(Mono.just(createResponse));
+
+        assertThat(ContainerRecreator.recreate(database, CONTAINER_NAME, null).block()).isSameAs(createResponse);
+
+        final InOrder order = inOrder(container, database);
+        order.verify(container).delete();
+        order.verify(database).createContainer(created.getValue(), THROUGHPUT);
+
+        assertThat(created.getValue().id()).isEqualTo(CONTAINER_NAME);
+        assertThat(created.getValue().partitionKeyDefinition().paths()).containsExactly("/lastName");
+        assertThat(created.getValue().getInt("defaultTtl")).isEqualTo(DEFAULT_TIME_TO_LIVE);
+    }
+
+    @Test
+    public void testContainerOfSharedThroughputIsRecreatedWithoutThroughput() {
+        when(container.readProvisionedThroughput()).thenReturn(Mono.error(
+                BridgeInternal.createCosmosClientException(HttpConstants.StatusCodes.BADREQUEST)));
+        when(database.createContainer(any(CosmosContainerProperties.class))).thenReturn(Mono.just(createResponse));
+
+        assertThat(ContainerRecreator.recreate(database, CONTAINER_NAME, null).block()).isSameAs(createResponse);
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentSkipUnchangedWrites;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContentHashCacheUnitTest {
+
+    private static final String COLLECTION = "collection";
+
+    private static final String DOCUMENT = "{\"id\":\"id\",\"_etag\":\"etag\",\"_ts\":1,\"counter\":1,"
+            + "\"address\":{\"city\":\"Shanghai\",\"street\":\"Zixing Road\"},\"tags\":[\"a\",\"b\"]}";
+
+    private final ContentHashCache cache = new ContentHashCache(2);
+
+    @Test
+    public void testOnlyAnnotatedClassesAreHashed() {
+        assertThat(cache.isTracked(TrackedEntity.class)).isTrue();
+        assertThat(cache.hash(TrackedEntity.class, new CosmosItemProperties(DOCUMENT))).isNotNull();
+        assertThat(cache.isTracked(Person.class)).isFalse();
+        assertThat(cache.hash(Person.class, new CosmosItemProperties(DOCUMENT))).isNull();
+    }
+
+    @Test
+    public void testHashIgnoresFieldOrderAndSystemFields() {
+        final String hash = hash(DOCUMENT);
+
+        assertThat(hash(DOCUMENT.replace("\"_etag\":\"etag\",\"_ts\":1", "\"_etag\":\"other\",\"_ts\":2")))
+                .isEqualTo(hash);
+        assertThat(hash(DOCUMENT.replace("\"city\":\"Shanghai\",\"street\":\"Zixing Road\"",
+                "\"street\":\"Zixing Road\",\"city\":\"Shanghai\""))).isEqualTo(hash);
+
+        assertThat(hash(DOCUMENT.replace("\"counter\":1", "\"counter\":2"))).isNotEqualTo(hash);
+        assertThat(hash(DOCUMENT.replace("[\"a\",\"b\"]", "[\"b\",\"a\"]"))).isNotEqualTo(hash);
+        assertThat(hash(DOCUMENT.replace("\"Shanghai\"", "{\"name\":\"Shanghai\"}"))).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void testUnchangedComparesLastWrittenHash() {
+        final String hash = hash(DOCUMENT);
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, null)).isFalse();
+
+        cache.put(COLLECTION, "id", hash, null);
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, null)).isTrue();
+        assertThat(cache.isUnchanged("other", "id", hash, null)).isFalse();
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash(DOCUMENT.replace("\"counter\":1", "\"counter\":2")),
+                null)).isFalse();
+    }
+
+    @Test
+    public void testUnchangedVersionedDocumentComparesLastWrittenEtag() {
+        final String hash = hash(DOCUMENT);
+        cache.put(COLLECTION, "id", hash, "etag");
+
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, "etag")).isTrue();
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, "stale")).isFalse();
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, null)).isFalse();
+    }
+
+    @Test
+    public void testEviction() {
+        final String hash = hash(DOCUMENT);
+        cache.put(COLLECTION, "id", hash, null);
+        cache.put("other", "id", hash, null);
+
+        cache.evict(COLLECTION, "id");
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, null)).isFalse();
+        assertThat(cache.isUnchanged("other", "id", hash, null)).isTrue();
+
+        cache.put(COLLECTION, "id", hash, null);
+        cache.evictAll("other");
+        assertThat(cache.isUnchanged(COLLECTION, "id", hash, null)).isTrue();
+        assertThat(cache.isUnchanged("other", "id", hash, null)).isFalse();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedHashIsDropped() {
+        final String hash = hash(DOCUMENT);
+        cache.put(COLLECTION, "id1", hash, null);
+        cache.put(COLLECTION, "id2", hash, null);
+        cache.put(COLLECTION, "id3", hash, null);
+
+        assertThat(cache.isUnchanged(COLLECTION, "id1", hash, null)).isFalse();
+        assertThat(cache.isUnchanged(COLLECTION, "id3", hash, null)).isTrue();
+    }
+
+    private String hash(String document) {
+        return cache.hash(TrackedEntity.class, new CosmosItemProperties(document));
+    }
+
+    @DocumentSkipUnchangedWrites
+    private static class TrackedEntity {
+        private String id;
+    }
+}
@@ -36,6 +36,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -134,6 +135,19 @@ public class CosmosTemplateIT {
                 new PartitionKey(personInfo.getPartitionKeyFieldValue(TEST_PERSON)));
     }
 
+    @Test
+    public void testInsertWithNoContentResponse() {
+        final Person person = new Person(ID_2, NEW_FIRST_NAME, NEW_LAST_NAME, HOBBIES, ADDRESSES);
+
+        final Person insertedPerson = cosmosTemplate.insert(Person.class.getSimpleName(), person,
+                new PartitionKey(personInfo.getPartitionKeyFieldValue(person)), WriteResponseMode.NO_CONTENT);
+
+        assertThat(insertedPerson).isSameAs(person);
+        assertThat(insertedPerson.get_etag()).isNotNull();
+        assertThat(cosmosTemplate.findById(Person.class.getSimpleName(), ID_2, Person.class).get_etag())
+                .isEqualTo(insertedPerson.get_etag());
+    }
+
     @Test
     public void testFindAll() {
         final List<Person> result = cosmosTemplate.findAll(Person.class.getSimpleName(), Person.class);
@@ -195,6 +209,35 @@ public class CosmosTemplateIT {
         assertEquals(result.get(0).getFirstName(), firstName);
     }
 
+    @Test
+    public void testBatchUpsert() {
+        final Person updatedPerson = new Person(TEST_PERSON.getId(), NEW_FIRST_NAME, TEST_PERSON.getLastName(),
+                null, null);
+        updatedPerson.set_etag(insertedPerson.get_etag());
+
+        final BulkWriteResult<Person> result = cosmosTemplate.batchUpsert(Person.class.getSimpleName(),
+                Arrays.asList(updatedPerson, TEST_PERSON_2, TEST_PERSON_3));
+
+        assertThat(result.hasFailures()).isFalse();
+        assertThat(result.getWritten()).extracting(Person::getId).containsExactly(ID_1, ID_2, ID_3);
+        assertThat(result.getWritten().get(0).get_etag()).isNotEqualTo(insertedPerson.get_etag());
+        assertThat(cosmosTemplate.findAll(Person.class)).hasSize(3);
+    }
+
+    @Test
+    public void testBatchUpsertRollsBackBatchWithWrongEtag() {
+        final Person updatedPerson = new Person(TEST_PERSON.getId(), NEW_FIRST_NAME, TEST_PERSON.getLastName(),
+                null, null);
+        updatedPerson.set_etag(WRONG_ETAG);
+        final Person newPerson = new Person(ID_2, NEW_FIRST_NAME, TEST_PERSON.getLastName(), null, null);
+
+        final BulkWriteResult<Person> result = cosmosTemplate.batchUpsert(Person.class.getSimpleName(),
+                Arrays.asList(newPerson, updatedPerson));
+
+        assertThat(result.getFailures()).hasSize(2);
+        assertThat(cosmosTemplate.findAll(Person.class)).extracting(Person::getId).containsExactly(ID_1);
+    }
+
     @Test
     public void testUpdate() {
         final Person updated = new Person(TEST_PERSON.getId(), UPDATED_FIRST_NAME,
@@ -255,6 +298,21 @@ public class CosmosTemplateIT {
         assertEquals(result.get(0), TEST_PERSON_2);
     }
 
+    @Test
+    public void testDeleteAllByQuery() {
+        cosmosTemplate.insert(TEST_PERSON_2,
+                new PartitionKey(personInfo.getPartitionKeyFieldValue(TEST_PERSON_2)));
+        cosmosTemplate.insert(TEST_PERSON_3,
+                new PartitionKey(personInfo.getPartitionKeyFieldValue(TEST_PERSON_3)));
+
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IN, "id",
+                Collections.singletonList(Arrays.asList(ID_2, ID_3)));
+        final long deleted = cosmosTemplate.deleteAll(new DocumentQuery(criteria), Person.class, collectionName);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(cosmosTemplate.findAll(Person.class)).extracting(Person::getId).containsExactly(ID_1);
+    }
+
     @Test
     public void testCountByCollection() {
         final long prevCount = cosmosTemplate.count(collectionName);
@@ -192,6 +192,19 @@ public class CosmosTemplatePartitionIT {
         assertThat(newCount).isEqualTo(2);
     }
 
+    @Test
+    public void testDeleteAllOfPartitionByQuery() {
+        cosmosTemplate.insert(TEST_PERSON_2, new PartitionKey(TEST_PERSON_2.getLastName()));
+
+        final Criteria criteria = Criteria.getInstance(IS_EQUAL, PROPERTY_LAST_NAME,
+                Arrays.asList(TEST_PERSON.getLastName()));
+        final long deleted = cosmosTemplate.deleteAll(new DocumentQuery(criteria), PartitionPerson.class,
+                collectionName);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(cosmosTemplate.findAll(PartitionPerson.class)).isEmpty();
+    }
+
     @Test
     public void testCountForPartitionedCollectionByQuery() {
         cosmosTemplate.insert(TEST_PERSON_2, new PartitionKey(TEST_PERSON_2.getLastName()));
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.AccessConditionType;
+import com.azure.data.cosmos.CosmosContainer;
+import com.azure.data.cosmos.CosmosItem;
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.CosmosItemRequestOptions;
+import com.azure.data.cosmos.CosmosItemResponse;
+import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentCached;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EntityCacheUnitTest {
+
+    private static final String COLLECTION = "coll";
+    private static final PartitionKey PARTITION_KEY = new PartitionKey("pk");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EntityCache cache = new EntityCache(CosmosDBConfig.defaultBuilder()
+            .documentCacheCapacity(1)
+            .meterRegistry(registry)
+            .build());
+
+    @Test
+    public void testOnlyAnnotatedClassesAreCached() {
+        assertThat(cache.isCached(CachedEntity.class)).isTrue();
+        assertThat(cache.isCached(Person.class)).isFalse();
+
+        cache.put(Person.class, COLLECTION, PARTITION_KEY, document("id"));
+        assertThat(cache.get(Person.class, COLLECTION, "id", PARTITION_KEY)).isNull();
+        assertThat(registry.find(Constants.METRIC_CACHE_MISSES).counter()).isNull();
+    }
+
+    @Test
+    public void testHitsMissesAndEvictionsAreCounted() {
+        assertThat(cache.get(CachedEntity.class, COLLECTION, "id", PARTITION_KEY)).isNull();
+
+        cache.put(CachedEntity.class, COLLECTION, PARTITION_KEY, document("id"));
+        assertThat(cache.get(CachedEntity.class, COLLECTION, "id", PARTITION_KEY)).isNotNull();
+
+        cache.put(CachedEntity.class, COLLECTION, PARTITION_KEY, document("id2"));
+
+        assertThat(count(Constants.METRIC_CACHE_HITS)).isEqualTo(1);
+        assertThat(count(Constants.METRIC_CACHE_MISSES)).isEqualTo(1);
+        assertThat(count(Constants.METRIC_CACHE_EVICTIONS)).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvictByPartitionKey() {
+        cache.put(CachedEntity.class, COLLECTION, PARTITION_KEY, document("id"));
+        cache.evict(COLLECTION, "id", new PartitionKey("other"));
+        assertThat(cache.get(CachedEntity.class, COLLECTION, "id", PARTITION_KEY)).isNotNull();
+
+        cache.evict(COLLECTION, "id", PARTITION_KEY);
+        assertThat(cache.get(CachedEntity.class, COLLECTION, "id", PARTITION_KEY)).isNull();
+    }
+
+    @Test
+    public void testNoneAndMissingPartitionKeysAreTheSame() {
+        assertThat(EntityCache.getKey(COLLECTION, 1, null))
+            .isEqualTo(EntityCache.getKey(COLLECTION, "1", PartitionKey.None));
+        assertThat(EntityCache.getKey(COLLECTION, 1, PARTITION_KEY).getPartitionKey()).isEqualTo("[\"pk\"]");
+    }
+
+    @Test
+    public void testCachedDocumentIsNotRead() {
+        final CosmosContainer container = mockContainer();
+        cache.put(CachedEntity.class, COLLECTION, PARTITION_KEY, document("id"));
+
+        assertThat(cache.read(CachedEntity.class, container, "id", PARTITION_KEY, null).block()).isNotNull();
+        verify(container, never()).getItem("id", PARTITION_KEY);
+    }
+
+    @Test
+    public void testExpiredDocumentIsRevalidatedByEtag() {
+        final CosmosItemProperties expired = new CosmosItemProperties("{\"id\":\"id\",\"_etag\":\"etag\"}");
+        final DocumentCache expiredCache = mock(DocumentCache.class);
+        when(expiredCache.getExpired(EntityCache.getKey(COLLECTION, "id", PARTITION_KEY))).thenReturn(expired);
+
+        final CosmosItemResponse response = mock(CosmosItemResponse.class);
+        when(response.statusCode()).thenReturn(HttpConstants.StatusCodes.NOT_MODIFIED);
+        final CosmosContainer container = mockContainer();
+        final CosmosItem item = container.getItem("id", PARTITION_KEY);
+        final ArgumentCaptor<CosmosItemRequestOptions> options = ArgumentCaptor.forClass(
+                CosmosItemRequestOptions.class);
+        when(item.read(options.capture())).thenReturn(Mono.just(response));
+
+        final EntityCache revalidatingCache = new EntityCache(CosmosDBConfig.defaultBuilder()
+                .documentCache(expiredCache)
+                .meterRegistry(registry)
+                .build());
+
+        assertThat(revalidatingCache.read(CachedEntity.class, container, "id", PARTITION_KEY, null).block())
+            .isSameAs(expired);
+        assertThat(options.getValue().accessCondition().type()).isEqualTo(AccessConditionType.IF_NONE_MATCH);
+        assertThat(options.getValue().accessCondition().condition()).isEqualTo("etag");
+        verify(expiredCache).put(EntityCache.getKey(COLLECTION, "id", PARTITION_KEY), expired,
+            Duration.ofSeconds(Constants.DEFAULT_DOCUMENT_CACHE_TIME_TO_LIVE_SECONDS));
+        assertThat(count(Constants.METRIC_CACHE_REVALIDATIONS)).isEqualTo(1);
+    }
+
+    @Test
+    public void testReadOvertakenByWriteIsNotCached() {
+        final CosmosItemResponse response = mock(CosmosItemResponse.class);
+        when(response.properties()).thenReturn(document("id"));
+        final MonoProcessor<CosmosItemResponse> pending = MonoProcessor.create();
+        final CosmosContainer container = mockContainer();
+        when(container.getItem("id", PARTITION_KEY).read(any(CosmosItemRequestOptions.class))).thenReturn(pending);
+
+        final Mono<CosmosItemProperties> read = cache.read(CachedEntity.class, container, "id", PARTITION_KEY, null);
+        cache.evict(COLLECTION, "id", PARTITION_KEY);
+        pending.onNext(response);
+
+        assertThat(read.block()).isNotNull();
+        assertThat(cache.get(CachedEntity.class, COLLECTION, "id", PARTITION_KEY)).isNull();
+        assertThat(cache.read(CachedEntity.class, container, "id", PARTITION_KEY, null).block()).isNotNull();
+        assertThat(cache.get(CachedEntity.class, COLLECTION, "id", PARTITION_KEY)).isNotNull();
+    }
+
+    private static CosmosContainer mockContainer() {
+        final CosmosContainer container = mock(CosmosContainer.class);
+        final CosmosItem item = mock(CosmosItem.class);
+        when(container.id()).thenReturn(COLLECTION);
+        when(container.getItem("id", PARTITION_KEY)).thenReturn(item);
+
+        return container;
+    }
+
+    private double count(String name) {
+        return registry.get(name).tag(Constants.METRIC_TAG_COLLECTION, COLLECTION).counter().count();
+    }
+
+    private static CosmosItemProperties document(String id) {
+        return new CosmosItemProperties("{\"id\":\"" + id + "\"}");
+    }
+
+    @DocumentCached
+    private static class CachedEntity {
+        private String id;
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InFlightReadsUnitTest {
+
+    private static final String COLLECTION = "coll";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InFlightReads reads = new InFlightReads(true, registry);
+    private final AtomicInteger requests = new AtomicInteger();
+    private final MonoProcessor<String> response = MonoProcessor.create();
+    private final Supplier<Mono<String>> request = () -> {
+        requests.incrementAndGet();
+        return response;
+    };
+
+    @Test
+    public void testConcurrentReadsShareOneRequest() {
+        final List<String> results = new ArrayList<>();
+
+        reads.read(COLLECTION, 0, "key", request).subscribe(results::add);
+        reads.read(COLLECTION, 0, "key", request).subscribe(results::add);
+        response.onNext("document");
+
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(results).containsExactly("document", "document");
+        assertThat(registry.get(Constants.METRIC_COALESCED_READS).tag(Constants.METRIC_TAG_COLLECTION, COLLECTION)
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testReadsOfOtherKeyOrGenerationAreNotShared() {
+        reads.read(COLLECTION, 0, "key", request).subscribe();
+        reads.read(COLLECTION, 0, "other", request).subscribe();
+        reads.read(COLLECTION, 1, "key", request).subscribe();
+        reads.read("other", 0, "key", request).subscribe();
+
+        assertThat(requests.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testCompletedRequestIsNotShared() {
+        response.onNext("document");
+
+        assertThat(reads.read(COLLECTION, 0, "key", request).block()).isEqualTo("document");
+        assertThat(reads.read(COLLECTION, 0, "key", request).block()).isEqualTo("document");
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCancelledCallerDoesNotCancelSharedRequest() {
+        final List<String> results = new ArrayList<>();
+
+        final Disposable cancelled = reads.read(COLLECTION, 0, "key", request).subscribe();
+        reads.read(COLLECTION, 0, "key", request).subscribe(results::add);
+        cancelled.dispose();
+        response.onNext("document");
+
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(results).containsExactly("document");
+    }
+
+    @Test
+    public void testDisabledReadsAreNotShared() {
+        final InFlightReads disabled = new InFlightReads(false, registry);
+
+        disabled.read(COLLECTION, 0, "key", request).subscribe();
+        disabled.read(COLLECTION, 0, "key", request).subscribe();
+
+        assertThat(requests.get()).isEqualTo(2);
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(reads.isEnabled()).isTrue();
+    }
+}
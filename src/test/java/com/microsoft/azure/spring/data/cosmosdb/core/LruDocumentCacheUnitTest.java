@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LruDocumentCacheUnitTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    private final MutableClock clock = new MutableClock();
+    private final List<DocumentCacheKey> evictions = new ArrayList<>();
+    private final LruDocumentCache cache = new LruDocumentCache(2, clock, evictions::add);
+
+    @Test
+    public void testPutAndGet() {
+        final CosmosItemProperties document = document("a");
+        cache.put(key("coll", "a"), document, TIME_TO_LIVE);
+
+        assertThat(cache.get(key("coll", "a"))).isSameAs(document);
+        assertThat(cache.get(key("coll", "b"))).isNull();
+        assertThat(cache.get(new DocumentCacheKey("coll", "a", "[\"other\"]"))).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentIsEvicted() {
+        cache.put(key("coll", "a"), document("a"), TIME_TO_LIVE);
+        cache.put(key("coll", "b"), document("b"), TIME_TO_LIVE);
+        cache.get(key("coll", "a"));
+        cache.put(key("coll", "c"), document("c"), TIME_TO_LIVE);
+
+        assertThat(cache.get(key("coll", "b"))).isNull();
+        assertThat(cache.get(key("coll", "a"))).isNotNull();
+        assertThat(evictions).containsExactly(key("coll", "b"));
+    }
+
+    @Test
+    public void testExpiredDocumentIsKeptForRevalidation() {
+        final CosmosItemProperties document = document("a");
+        cache.put(key("coll", "a"), document, TIME_TO_LIVE);
+
+        clock.advance(TIME_TO_LIVE.minusMillis(1));
+        assertThat(cache.get(key("coll", "a"))).isNotNull();
+        assertThat(cache.getExpired(key("coll", "a"))).isNull();
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(cache.get(key("coll", "a"))).isNull();
+        assertThat(cache.getExpired(key("coll", "a"))).isSameAs(document);
+        assertThat(evictions).isEmpty();
+
+        cache.put(key("coll", "a"), document, TIME_TO_LIVE);
+        assertThat(cache.get(key("coll", "a"))).isSameAs(document);
+    }
+
+    @Test
+    public void testEvictAllOfCollection() {
+        cache.put(key("coll", "a"), document("a"), TIME_TO_LIVE);
+        cache.put(key("other", "a"), document("a"), TIME_TO_LIVE);
+        cache.evictAll("coll");
+
+        assertThat(cache.get(key("coll", "a"))).isNull();
+        assertThat(cache.get(key("other", "a"))).isNotNull();
+
+        cache.evict(key("other", "a"));
+        assertThat(cache.get(key("other", "a"))).isNull();
+        assertThat(evictions).isEmpty();
+    }
+
+    private static DocumentCacheKey key(String collectionName, String id) {
+        return new DocumentCacheKey(collectionName, id, "[\"pk\"]");
+    }
+
+    private static CosmosItemProperties document(String id) {
+        return new CosmosItemProperties("{\"id\":\"" + id + "\"}");
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapDocumentCacheUnitTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+    private static final int BLOCK_SIZE = 32;
+
+    private final MutableClock clock = new MutableClock();
+    private final List<DocumentCacheKey> evictions = new ArrayList<>();
+    private final OffHeapDocumentCache cache = new OffHeapDocumentCache(4 * BLOCK_SIZE, 1, BLOCK_SIZE, clock,
+            evictions::add);
+
+    @Test
+    public void testDocumentOfSeveralBlocksIsReadBack() {
+        final CosmosItemProperties document = document("a", 70);
+        cache.put(key("a"), document, TIME_TO_LIVE);
+
+        final CosmosItemProperties cached = cache.get(key("a"));
+
+        assertThat(cached).isNotSameAs(document);
+        assertThat(cached.toJson()).isEqualTo(document.toJson());
+        assertThat(cache.get(key("b"))).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentsAreDroppedForSpace() {
+        cache.put(key("a"), document("a", 10), TIME_TO_LIVE);
+        cache.put(key("b"), document("b", 10), TIME_TO_LIVE);
+        cache.put(key("c"), document("c", 10), TIME_TO_LIVE);
+        cache.get(key("a"));
+        cache.put(key("d"), document("d", 50), TIME_TO_LIVE);
+
+        assertThat(evictions).containsExactly(key("b"), key("c"));
+        assertThat(cache.get(key("a"))).isNotNull();
+        assertThat(cache.get(key("d"))).isNotNull();
+    }
+
+    @Test
+    public void testReplacedDocumentFreesItsBlocks() {
+        for (int i = 0; i < 10; i++) {
+            cache.put(key("a"), document("a", 70), TIME_TO_LIVE);
+        }
+
+        cache.put(key("b"), document("b", 10), TIME_TO_LIVE);
+
+        assertThat(evictions).isEmpty();
+        assertThat(cache.get(key("a")).getString("value")).hasSize(70);
+    }
+
+    @Test
+    public void testDocumentLargerThanSegmentIsNotCached() {
+        cache.put(key("a"), document("a", 10), TIME_TO_LIVE);
+        cache.put(key("b"), document("b", 200), TIME_TO_LIVE);
+
+        assertThat(cache.get(key("b"))).isNull();
+        assertThat(cache.get(key("a"))).isNotNull();
+    }
+
+    @Test
+    public void testExpiredDocumentIsKeptForRevalidation() {
+        cache.put(key("a"), document("a", 10), TIME_TO_LIVE);
+        clock.advance(TIME_TO_LIVE);
+
+        assertThat(cache.get(key("a"))).isNull();
+        assertThat(cache.getExpired(key("a"))).isNotNull();
+    }
+
+    @Test
+    public void testEvictAllOfCollection() {
+        cache.put(key("a"), document("a", 10), TIME_TO_LIVE);
+        cache.put(new DocumentCacheKey("other", "a", ""), document("a", 10), TIME_TO_LIVE);
+        cache.evictAll("coll");
+
+        assertThat(cache.get(key("a"))).isNull();
+        assertThat(cache.get(new DocumentCacheKey("other", "a", ""))).isNotNull();
+    }
+
+    private static DocumentCacheKey key(String id) {
+        return new DocumentCacheKey("coll", id, "");
+    }
+
+    private static CosmosItemProperties document(String id, int valueLength) {
+        return new CosmosItemProperties("{\"id\":\"" + id + "\",\"value\":\""
+                + new String(new char[valueLength]).replace('\0', 'x') + "\"}");
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentPartialUpdate;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.junit.Test;
+import org.springframework.data.annotation.Version;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartialUpdateTrackerUnitTest {
+
+    private static final String DESCRIPTION = new String(new char[500]).replace('\0', 'x');
+
+    private static final String DOCUMENT = "{\"id\":\"id\",\"_etag\":\"etag\",\"_ts\":1,\"counter\":1,"
+            + "\"description\":\"" + DESCRIPTION + "\","
+            + "\"address\":{\"city\":\"Shanghai\",\"street\":\"Zixing Road\"},\"tags\":[\"a\",\"b\"]}";
+
+    private final PartialUpdateTracker tracker = new PartialUpdateTracker(2);
+
+    @Test
+    public void testOnlyAnnotatedVersionedClassesAreTracked() {
+        assertThat(tracker.isTracked(TrackedEntity.class)).isTrue();
+        assertThat(tracker.isTracked(UnversionedEntity.class)).isFalse();
+        assertThat(tracker.isTracked(Person.class)).isFalse();
+    }
+
+    @Test
+    public void testDiffOfChangedFields() {
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+
+        final ArrayNode operations = tracker.diff(TrackedEntity.class, new CosmosItemProperties(DOCUMENT
+                .replace("\"counter\":1", "\"counter\":2")
+                .replace("\"_ts\":1", "\"_ts\":2")
+                .replace("\"street\":\"Zixing Road\"", "\"zip\":\"201107\"")));
+
+        assertThat(operations).isNotNull();
+        assertThat(operations.toString()).isEqualTo("[{\"path\":[\"counter\"],\"value\":2},"
+                + "{\"path\":[\"address\",\"zip\"],\"value\":\"201107\"},"
+                + "{\"path\":[\"address\",\"street\"],\"remove\":true}]");
+    }
+
+    @Test
+    public void testArraysAreReplacedAsWhole() {
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+
+        final ArrayNode operations = tracker.diff(TrackedEntity.class,
+                new CosmosItemProperties(DOCUMENT.replace("[\"a\",\"b\"]", "[\"a\"]")));
+
+        assertThat(operations.toString()).isEqualTo("[{\"path\":[\"tags\"],\"value\":[\"a\"]}]");
+    }
+
+    @Test
+    public void testNoDiffWithoutSnapshotOfEtag() {
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+
+        assertThat(tracker.diff(TrackedEntity.class, new CosmosItemProperties(DOCUMENT
+                .replace("\"_etag\":\"etag\"", "\"_etag\":\"other\"")
+                .replace("\"counter\":1", "\"counter\":2")))).isNull();
+    }
+
+    @Test
+    public void testSnapshotIsUsedOnce() {
+        final CosmosItemProperties changed = new CosmosItemProperties(DOCUMENT.replace("\"counter\":1",
+                "\"counter\":2"));
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+
+        assertThat(tracker.diff(TrackedEntity.class, changed)).isNotNull();
+        assertThat(tracker.diff(TrackedEntity.class, changed)).isNull();
+    }
+
+    @Test
+    public void testNoDiffWhenNothingOrMostChanged() {
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+        assertThat(tracker.diff(TrackedEntity.class, new CosmosItemProperties(DOCUMENT))).isNull();
+
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+        assertThat(tracker.diff(TrackedEntity.class, new CosmosItemProperties(DOCUMENT
+                .replace(DESCRIPTION, DESCRIPTION.replace('x', 'y'))))).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSnapshotIsDropped() {
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT));
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT.replace("\"id\":\"id\"",
+                "\"id\":\"id2\"")));
+        tracker.snapshot(TrackedEntity.class, new CosmosItemProperties(DOCUMENT.replace("\"id\":\"id\"",
+                "\"id\":\"id3\"")));
+
+        assertThat(tracker.diff(TrackedEntity.class, new CosmosItemProperties(DOCUMENT.replace("\"counter\":1",
+                "\"counter\":2")))).isNull();
+    }
+
+    @DocumentPartialUpdate
+    private static class TrackedEntity {
+        private String id;
+        @Version
+        private String _etag;
+    }
+
+    @DocumentPartialUpdate
+    private static class UnversionedEntity {
+        private String id;
+    }
+}
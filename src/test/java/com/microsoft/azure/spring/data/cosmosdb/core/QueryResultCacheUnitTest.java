@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryResultCacheUnitTest {
+
+    private static final String COLLECTION = "coll";
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(10);
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryResultCache cache = new QueryResultCache(3, clock, registry);
+
+    @Test
+    public void testKeyContainsQueryParameters() {
+        assertThat(key("a")).isEqualTo(key("a"));
+        assertThat(key("a")).isNotEqualTo(key("b"));
+        assertThat(QueryResultCache.getKey("other", spec("a"), query("a"))).isNotEqualTo(key("a"));
+    }
+
+    @Test
+    public void testCachedResultIsServed() {
+        final List<CosmosItemProperties> documents = documents("a");
+
+        assertThat(cache.get(key("a"))).isNull();
+        cache.put(key("a"), cache.getGeneration(COLLECTION), documents, TIME_TO_LIVE);
+
+        assertThat(cache.get(key("a"))).containsExactlyElementsOf(documents);
+        assertThat(cache.get(key("b"))).isNull();
+        assertThat(count(Constants.METRIC_QUERY_CACHE_HITS)).isEqualTo(1);
+        assertThat(count(Constants.METRIC_QUERY_CACHE_MISSES)).isEqualTo(2);
+    }
+
+    @Test
+    public void testExpiredResultIsNotServed() {
+        cache.put(key("a"), cache.getGeneration(COLLECTION), documents("a"), TIME_TO_LIVE);
+
+        clock.advance(TIME_TO_LIVE.minusMillis(1));
+        assertThat(cache.get(key("a"))).isNotNull();
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(cache.get(key("a"))).isNull();
+    }
+
+    @Test
+    public void testWriteInvalidatesResultsOfCollection() {
+        final QueryResultCache other = new QueryResultCache(3, clock, registry);
+        final List<Object> otherKey = QueryResultCache.getKey("other", spec("a"), query("a"));
+
+        cache.put(key("a"), cache.getGeneration(COLLECTION), documents("a"), TIME_TO_LIVE);
+        cache.put(otherKey, cache.getGeneration("other"), documents("a"), TIME_TO_LIVE);
+        cache.invalidate(COLLECTION);
+
+        assertThat(cache.get(key("a"))).isNull();
+        assertThat(cache.get(otherKey)).isNotNull();
+        assertThat(other.getGeneration(COLLECTION)).isZero();
+    }
+
+    @Test
+    public void testResultOfQueryStartedBeforeWriteIsNotCached() {
+        final long generation = cache.getGeneration(COLLECTION);
+
+        cache.invalidate(COLLECTION);
+        cache.put(key("a"), generation, documents("a"), TIME_TO_LIVE);
+
+        assertThat(cache.get(key("a"))).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultsAreDroppedByWeight() {
+        final long generation = cache.getGeneration(COLLECTION);
+
+        cache.put(key("a"), generation, documents("a"), TIME_TO_LIVE);
+        cache.put(key("b"), generation, Collections.emptyList(), TIME_TO_LIVE);
+        cache.get(key("a"));
+        cache.put(key("c"), generation, documents("c1", "c2"), TIME_TO_LIVE);
+
+        assertThat(cache.get(key("a"))).hasSize(1);
+        assertThat(cache.get(key("b"))).isNull();
+        assertThat(cache.get(key("c"))).hasSize(2);
+
+        cache.put(key("d"), generation, documents("d1", "d2", "d3", "d4"), TIME_TO_LIVE);
+
+        assertThat(cache.get(key("d"))).isNull();
+        assertThat(cache.get(key("c"))).hasSize(2);
+    }
+
+    private double count(String name) {
+        return registry.get(name).tag(Constants.METRIC_TAG_COLLECTION, COLLECTION).counter().count();
+    }
+
+    private static List<Object> key(String name) {
+        return QueryResultCache.getKey(COLLECTION, spec(name), query(name));
+    }
+
+    private static SqlQuerySpec spec(String name) {
+        return new FindQuerySpecGenerator().generateCosmos(query(name));
+    }
+
+    private static DocumentQuery query(String name) {
+        return new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL, "name",
+                Collections.singletonList(name)));
+    }
+
+    private static List<CosmosItemProperties> documents(String... ids) {
+        return Arrays.stream(ids)
+                .map(id -> new CosmosItemProperties("{\"id\":\"" + id + "\"}"))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosStoredProcedureProperties;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StoredProcedureUnitTest {
+
+    @Test
+    public void testIdContainsVersion() {
+        assertThat(StoredProcedure.BULK_UPSERT.getId()).isEqualTo("spring-data-cosmosdb-bulkUpsert-v1");
+    }
+
+    @Test
+    public void testScriptsAreLoaded() {
+        for (final StoredProcedure storedProcedure : StoredProcedure.values()) {
+            final CosmosStoredProcedureProperties properties = storedProcedure.getProperties();
+
+            assertThat(properties.id()).isEqualTo(storedProcedure.getId());
+            assertThat(properties.body()).contains("function ");
+        }
+    }
+}
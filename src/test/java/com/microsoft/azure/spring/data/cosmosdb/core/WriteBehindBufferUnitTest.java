@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteBehindBufferUnitTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    private final List<List<Object>> flushes = Collections.synchronizedList(new ArrayList<>());
+
+    private VirtualTimeScheduler scheduler;
+    private WriteBehindBuffer buffer;
+
+    @Before
+    public void setup() {
+        scheduler = VirtualTimeScheduler.create();
+        buffer = new WriteBehindBuffer(3, 4, FLUSH_INTERVAL, scheduler, flushes::add);
+    }
+
+    @Test
+    public void testUpsertsOfSameKeyAreCoalesced() {
+        buffer.add("a", "a1");
+        buffer.add("b", "b1");
+        buffer.add("a", "a2");
+        buffer.flush();
+
+        assertThat(flushes).containsExactly(Arrays.asList("a2", "b1"));
+    }
+
+    @Test
+    public void testFlushOnSize() {
+        buffer.add("a", "a1");
+        buffer.add("b", "b1");
+        scheduler.advanceTime();
+        assertThat(flushes).isEmpty();
+
+        buffer.add("c", "c1");
+        scheduler.advanceTime();
+        assertThat(flushes).containsExactly(Arrays.asList("a1", "b1", "c1"));
+    }
+
+    @Test
+    public void testFlushOnTime() {
+        buffer.add("a", "a1");
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+
+        assertThat(flushes).containsExactly(Collections.singletonList("a1"));
+    }
+
+    @Test
+    public void testFullBufferIsFlushedByCaller() {
+        final List<Runnable> scheduledFlushes = new ArrayList<>();
+        final WriteBehindBuffer buffer = new WriteBehindBuffer(3, 4, FLUSH_INTERVAL, new Scheduler() {
+            @Override
+            public Disposable schedule(Runnable task) {
+                scheduledFlushes.add(task);
+                return Disposables.disposed();
+            }
+
+            @Override
+            public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+                return scheduler.schedulePeriodically(task, initialDelay, period, unit);
+            }
+
+            @Override
+            public Worker createWorker() {
+                return scheduler.createWorker();
+            }
+        }, flushes::add);
+
+        Arrays.asList("a", "b", "c", "d").forEach(key -> buffer.add(key, key + "1"));
+        assertThat(scheduledFlushes).hasSize(1);
+        assertThat(flushes).isEmpty();
+
+        buffer.add("a", "a2");
+        assertThat(flushes).isEmpty();
+
+        buffer.add("e", "e1");
+        assertThat(flushes).containsExactly(Arrays.asList("a2", "b1", "c1", "d1"));
+
+        buffer.flush();
+        assertThat(flushes).last().isEqualTo(Collections.singletonList("e1"));
+    }
+
+    @Test
+    public void testDiscard() {
+        buffer.add("a", "a1");
+        buffer.add("b", "b1");
+        buffer.discard("a");
+        buffer.flush();
+
+        assertThat(flushes).containsExactly(Collections.singletonList("b1"));
+
+        buffer.add("c", "c1");
+        buffer.discardAll();
+        buffer.flush();
+
+        assertThat(flushes).hasSize(1);
+    }
+
+    @Test
+    public void testCloseDrainsBuffer() {
+        buffer.add("a", "a1");
+        buffer.close();
+
+        assertThat(flushes).containsExactly(Collections.singletonList("a1"));
+
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+        assertThat(flushes).hasSize(1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testClosedBufferRejectsUpserts() {
+        buffer.close();
+        buffer.add("a", "a1");
+    }
+
+    @Test
+    public void testWriterFailureDoesNotStopFlushes() {
+        final WriteBehindBuffer failingBuffer = new WriteBehindBuffer(3, 4, FLUSH_INTERVAL, scheduler, entities -> {
+            flushes.add(entities);
+            throw new IllegalStateException("write failed");
+        });
+
+        failingBuffer.add("a", "a1");
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+        failingBuffer.add("b", "b1");
+        scheduler.advanceTimeBy(FLUSH_INTERVAL);
+
+        assertThat(flushes).containsExactly(Collections.singletonList("a1"), Collections.singletonList("b1"));
+    }
+}
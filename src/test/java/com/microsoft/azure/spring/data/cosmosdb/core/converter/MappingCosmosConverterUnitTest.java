@@ -10,9 +10,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Memo;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
@@ -20,6 +25,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.annotation.Id;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -59,6 +65,21 @@ public class MappingCosmosConverterUnitTest {
         assertThat(cosmosItemProperties.getString(TestConstants.PROPERTY_STREET)).isEqualTo(testAddress.getStreet());
     }
 
+    @Test
+    public void convertVersionedPersonToDocumentCorrectly() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+                TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        person.set_etag(TestConstants.ETAG);
+
+        final CosmosItemProperties cosmosItemProperties = mappingCosmosConverter.writeCosmosItemProperties(person);
+
+        assertThat(cosmosItemProperties.id()).isEqualTo(TestConstants.ID_1);
+        assertThat(cosmosItemProperties.etag()).isEqualTo(TestConstants.ETAG);
+        assertThat(cosmosItemProperties.getList(TestConstants.PROPERTY_HOBBIES, String.class))
+                .isEqualTo(TestConstants.HOBBIES);
+        assertThat(mappingCosmosConverter.read(Person.class, cosmosItemProperties)).isEqualTo(person);
+    }
+
     @Test
     public void convertDocumentToAddressCorrectly() {
         final JSONObject jsonObject = new JSONObject();
@@ -75,6 +96,35 @@ public class MappingCosmosConverterUnitTest {
         assertThat(address.getStreet()).isEqualTo(TestConstants.STREET);
     }
 
+    @Test
+    public void convertDocumentToAddressShouldNotModifyDocument() {
+        final JSONObject jsonObject = new JSONObject();
+        jsonObject.put(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+
+        final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties(jsonObject.toString());
+        cosmosItemProperties.id(TestConstants.POSTAL_CODE);
+
+        final Address address = mappingCosmosConverter.read(Address.class, cosmosItemProperties);
+
+        assertThat(address.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(cosmosItemProperties.id()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(cosmosItemProperties.has(TestConstants.PROPERTY_POSTAL_CODE)).isFalse();
+    }
+
+    @Test
+    public void convertProjectedDocumentToDtoCorrectly() {
+        final JSONObject jsonObject = new JSONObject();
+        jsonObject.put(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+
+        final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties(jsonObject.toString());
+        cosmosItemProperties.id(TestConstants.POSTAL_CODE);
+
+        final AddressView view = mappingCosmosConverter.read(Address.class, AddressView.class, cosmosItemProperties);
+
+        assertThat(view.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(view.getCity()).isEqualTo(TestConstants.CITY);
+    }
+
     @Test
     public void canWritePojoWithDateToDocument() throws ParseException {
         final Memo memo = new Memo(TestConstants.ID_1, TestConstants.MESSAGE, DATE.parse(TestConstants.DATE_STRING),
@@ -110,5 +160,30 @@ public class MappingCosmosConverterUnitTest {
 
         assertThat(time).isEqualTo(TestConstants.MILLI_SECONDS);
     }
-}
 
+    @Test
+    public void convertEntityWithLongIdToDocumentCorrectly() {
+        final LongIdEntity entity = new LongIdEntity(42L, TestConstants.FIRST_NAME);
+        final CosmosItemProperties cosmosItemProperties = mappingCosmosConverter.writeCosmosItemProperties(entity);
+
+        assertThat(cosmosItemProperties.id()).isEqualTo("42");
+        assertThat(cosmosItemProperties.getString("name")).isEqualTo(TestConstants.FIRST_NAME);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Document
+    static class LongIdEntity {
+        @Id
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @NoArgsConstructor
+    static class AddressView {
+        private String postalCode;
+        private String city;
+    }
+}
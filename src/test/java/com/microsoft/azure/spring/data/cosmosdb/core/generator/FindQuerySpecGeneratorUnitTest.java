@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.generator;
+
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosOffsetPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.FIRST_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FindQuerySpecGeneratorUnitTest {
+
+    private final FindQuerySpecGenerator generator = new FindQuerySpecGenerator();
+
+    @Test
+    public void testSelectWholeDocumentWithoutProjection() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText()).startsWith("SELECT * FROM ROOT r");
+    }
+
+    @Test
+    public void testSelectProjectedFields() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL, "firstName",
+                Collections.singletonList(FIRST_NAME)));
+        query.withProjection(Arrays.asList("id", "firstName"));
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText()).startsWith("SELECT r.id, r.firstName FROM ROOT r WHERE ");
+        assertThat(querySpec.parameters()).hasSize(1);
+    }
+
+    @Test
+    public void testSelectTopWithLimit() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(Sort.by(Sort.Direction.DESC, "starCount"))
+                .withLimit(10);
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText().trim()).isEqualTo("SELECT TOP 10 * FROM ROOT r  ORDER BY r.starCount DESC");
+    }
+
+    @Test
+    public void testSelectTopWithProjection() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .withProjection(Collections.singletonList("id"))
+                .withLimit(1);
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText()).startsWith("SELECT TOP 1 r.id FROM ROOT r");
+    }
+
+    @Test
+    public void testOffsetPageRequestGeneratesOffsetLimit() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(Sort.by(Sort.Direction.ASC, "name"))
+                .with(CosmosOffsetPageRequest.of(3, 20));
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText()).endsWith("ORDER BY r.name ASC OFFSET 60 LIMIT 20");
+    }
+
+    @Test
+    public void testOffsetPageRequestFoldsLimitIntoPage() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(CosmosOffsetPageRequest.of(1, 2))
+                .withLimit(3);
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText()).startsWith("SELECT * FROM ROOT r");
+        assertThat(querySpec.queryText()).endsWith("OFFSET 2 LIMIT 1");
+        assertThat(generator.generateCosmos(query.with(CosmosOffsetPageRequest.of(2, 2))).queryText())
+                .endsWith("OFFSET 4 LIMIT 0");
+    }
+
+    @Test
+    public void testContinuationPageRequestGeneratesNoOffset() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(new CosmosPageRequest(3, 20, null));
+
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
+
+        assertThat(querySpec.queryText()).doesNotContain("OFFSET");
+    }
+
+    @Test
+    public void testCountQueryIgnoresOffset() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+                .with(CosmosOffsetPageRequest.of(3, 20));
+
+        final SqlQuerySpec querySpec = new CountQueryGenerator().generateCosmos(query);
+
+        assertThat(querySpec.queryText()).doesNotContain("OFFSET");
+    }
+
+    @Test
+    public void testSameQueryShapeBindsNewValues() {
+        final SqlQuerySpec first = generator.generateCosmos(createNameAndAgeQuery("first", 1));
+        final SqlQuerySpec second = generator.generateCosmos(createNameAndAgeQuery("second", 2));
+
+        assertThat(second.queryText()).isEqualTo(first.queryText());
+        assertThat(first.parameters().stream().map(p -> p.value(Object.class)))
+                .containsExactly("first", 1);
+        assertThat(second.parameters().stream().map(p -> p.value(Object.class)))
+                .containsExactly("second", 2);
+    }
+
+    @Test
+    public void testDifferentQueryShapeGeneratesDifferentQuery() {
+        final SqlQuerySpec equal = generator.generateCosmos(createNameAndAgeQuery("name", 1));
+        final Criteria greaterThan = Criteria.getInstance(CriteriaType.AND,
+                Criteria.getInstance(CriteriaType.IS_EQUAL, "name", Collections.singletonList("name")),
+                Criteria.getInstance(CriteriaType.GREATER_THAN, "age", Collections.singletonList(1)));
+        final SqlQuerySpec greater = generator.generateCosmos(new DocumentQuery(greaterThan));
+
+        assertThat(equal.queryText()).contains("r.age = @age");
+        assertThat(greater.queryText()).contains("r.age > @age");
+    }
+
+    @Test
+    public void testInQueryBindsValuesAsParameters() {
+        final SqlQuerySpec first = generator.generateCosmos(createInQuery(CriteriaType.IN, "a", "b", "c"));
+        final SqlQuerySpec second = generator.generateCosmos(createInQuery(CriteriaType.IN, "d", "e", "f", "g"));
+
+        assertThat(first.queryText()).contains("r.name IN (@name_0, @name_1, @name_2, @name_3)");
+        assertThat(second.queryText()).isEqualTo(first.queryText());
+        assertThat(first.parameters().stream().map(p -> p.value(Object.class))).containsExactly("a", "b", "c", "c");
+        assertThat(second.parameters().stream().map(p -> p.value(Object.class))).containsExactly("d", "e", "f", "g");
+    }
+
+    @Test
+    public void testInQueryTextDependsOnSizeBucket() {
+        final SqlQuerySpec one = generator.generateCosmos(createInQuery(CriteriaType.NOT_IN, "a"));
+        final SqlQuerySpec five = generator.generateCosmos(createInQuery(CriteriaType.NOT_IN, "a", "b", "c", "d", "e"));
+
+        assertThat(one.queryText()).contains("r.name NOT IN (@name_0)");
+        assertThat(five.queryText()).contains("@name_7)");
+        assertThat(five.parameters()).hasSize(8);
+    }
+
+    @Test
+    public void testEmptyInQuery() {
+        assertThat(generator.generateCosmos(createInQuery(CriteriaType.IN)).queryText()).contains("WHERE false");
+        assertThat(generator.generateCosmos(createInQuery(CriteriaType.NOT_IN)).queryText()).contains("WHERE true");
+    }
+
+    private DocumentQuery createInQuery(CriteriaType type, String... values) {
+        return new DocumentQuery(Criteria.getInstance(type, "name",
+                Collections.singletonList(Arrays.asList(values))));
+    }
+
+    private DocumentQuery createNameAndAgeQuery(String name, int age) {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.AND,
+                Criteria.getInstance(CriteriaType.IS_EQUAL, "name", Collections.singletonList(name)),
+                Criteria.getInstance(CriteriaType.IS_EQUAL, "age", Collections.singletonList(age)));
+
+        return new DocumentQuery(criteria).with(Sort.by("name"));
+    }
+}
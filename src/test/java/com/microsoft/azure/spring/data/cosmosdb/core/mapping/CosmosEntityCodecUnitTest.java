@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Student;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CosmosEntityCodecUnitTest {
+
+    @Test
+    public void testCodecIsCreatedOncePerClass() {
+        assertThat(CosmosEntityCodec.of(Person.class)).isSameAs(CosmosEntityCodec.of(Person.class));
+    }
+
+    @Test
+    public void testGetFieldValues() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+                TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        person.set_etag("etag");
+
+        final CosmosEntityCodec<Person> codec = CosmosEntityCodec.of(Person.class);
+
+        assertThat(codec.getId(person)).isEqualTo(TestConstants.ID_1);
+        assertThat(codec.getPartitionKeyValue(person)).isEqualTo(TestConstants.LAST_NAME);
+        assertThat(codec.isVersioned()).isTrue();
+        assertThat(codec.getEtag(person)).isEqualTo("etag");
+    }
+
+    @Test
+    public void testGetAnnotatedIdField() {
+        final Address address = new Address(TestConstants.POSTAL_CODE, TestConstants.STREET, TestConstants.CITY);
+        final CosmosEntityCodec<Address> codec = CosmosEntityCodec.of(Address.class);
+
+        assertThat(codec.getIdField().getName()).isEqualTo(TestConstants.PROPERTY_POSTAL_CODE);
+        assertThat(codec.getId(address)).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(codec.getPartitionKeyValue(address)).isEqualTo(TestConstants.CITY);
+    }
+
+    @Test
+    public void testEntityWithoutPartitionKeyAndVersion() {
+        final CosmosEntityCodec<Student> codec = CosmosEntityCodec.of(Student.class);
+
+        assertThat(codec.getPartitionKeyField()).isNull();
+        assertThat(codec.isVersioned()).isFalse();
+        assertThat(codec.getEtag(new Student(TestConstants.ID_1, TestConstants.FIRST_NAME,
+                TestConstants.LAST_NAME))).isNull();
+    }
+
+    @Test
+    public void testSetServerFields() {
+        final EntityWithServerFields entity = new EntityWithServerFields();
+        CosmosEntityCodec.of(EntityWithServerFields.class).setServerFields(entity, "etag", 42L);
+
+        assertThat(entity._etag).isEqualTo("etag");
+        assertThat(entity._ts).isEqualTo(42L);
+    }
+
+    @Test
+    public void testSetServerFieldsSkipsUndeclaredFields() {
+        final Student student = new Student(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME);
+        CosmosEntityCodec.of(Student.class).setServerFields(student, "etag", 42L);
+
+        assertThat(student.getId()).isEqualTo(TestConstants.ID_1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEntityWithoutIdField() {
+        CosmosEntityCodec.of(ClassWithoutId.class);
+    }
+
+    static class EntityWithServerFields {
+        String id;
+        String _etag;
+        long _ts;
+    }
+
+    class ClassWithoutId {
+        String field;
+    }
+}
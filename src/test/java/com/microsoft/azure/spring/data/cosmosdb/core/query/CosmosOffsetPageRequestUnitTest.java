@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.junit.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CosmosOffsetPageRequestUnitTest {
+
+    @Test
+    public void testNavigationKeepsOffsetPaging() {
+        final Sort sort = Sort.by("name");
+        final CosmosOffsetPageRequest pageRequest = CosmosOffsetPageRequest.of(2, 10, sort);
+
+        final Pageable next = pageRequest.next();
+        final Pageable previous = pageRequest.previous();
+        final Pageable first = pageRequest.first();
+
+        assertThat(next).isEqualTo(CosmosOffsetPageRequest.of(3, 10, sort));
+        assertThat(next.getOffset()).isEqualTo(30);
+        assertThat(previous).isEqualTo(CosmosOffsetPageRequest.of(1, 10, sort));
+        assertThat(first).isEqualTo(CosmosOffsetPageRequest.of(0, 10, sort));
+        assertThat(first.previousOrFirst()).isInstanceOf(CosmosOffsetPageRequest.class);
+    }
+
+    @Test
+    public void testNotEqualToContinuationPageRequest() {
+        assertThat(CosmosOffsetPageRequest.of(0, 10)).isNotEqualTo(new CosmosPageRequest(0, 10, null));
+    }
+}
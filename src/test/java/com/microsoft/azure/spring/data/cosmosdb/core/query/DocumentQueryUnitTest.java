@@ -11,6 +11,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.CRITERIA_KEY;
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.CRITERIA_OBJECT;
@@ -27,5 +29,31 @@ public class DocumentQueryUnitTest {
         Assert.assertEquals(criteria, query.getCriteria());
         Assert.assertEquals(Sort.unsorted(), query.getSort());
         Assert.assertEquals(Pageable.unpaged(), query.getPageable());
+        Assert.assertFalse(query.isLimited());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDocumentQueryInvalidLimit() {
+        new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)).withLimit(0);
+    }
+
+    @Test
+    public void testPartitionKeyValue() {
+        final Criteria partitionKey = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Collections.singletonList(CRITERIA_OBJECT));
+        final Criteria other = Criteria.getInstance(CriteriaType.IS_EQUAL, "other",
+                Collections.singletonList(CRITERIA_OBJECT));
+
+        Assert.assertEquals(Optional.of(CRITERIA_OBJECT),
+                new DocumentQuery(partitionKey).getPartitionKeyValue(CRITERIA_KEY));
+        Assert.assertEquals(Optional.of(CRITERIA_OBJECT), new DocumentQuery(Criteria.getInstance(CriteriaType.AND,
+                other, partitionKey)).getPartitionKeyValue(CRITERIA_KEY));
+
+        Assert.assertFalse(new DocumentQuery(other).getPartitionKeyValue(CRITERIA_KEY).isPresent());
+        Assert.assertFalse(new DocumentQuery(Criteria.getInstance(CriteriaType.OR, other, partitionKey))
+                .getPartitionKeyValue(CRITERIA_KEY).isPresent());
+        Assert.assertFalse(new DocumentQuery(Criteria.getInstance(CriteriaType.IN, CRITERIA_KEY,
+                Collections.singletonList(Arrays.asList(CRITERIA_OBJECT, "other"))))
+                .getPartitionKeyValue(CRITERIA_KEY).isPresent());
     }
 }
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance;
+
+import com.azure.data.cosmos.CosmosClient;
+import com.azure.data.cosmos.CosmosContainer;
+import com.azure.data.cosmos.CosmosDatabase;
+import com.azure.data.cosmos.CosmosItemRequestOptions;
+import com.azure.data.cosmos.CosmosItemResponse;
+import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.core.CosmosTemplate;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.performance.domain.PerfPerson;
+import com.microsoft.azure.spring.data.cosmosdb.performance.utils.Constants;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the throughput of upserting documents one after another, as saveAll did before, with the bulk upsert of
+ * {@link CosmosTemplate}. The writes go to a local stand-in of the container which answers every upsert after a
+ * fixed latency, so the comparison shows the effect of the concurrency without a Cosmos account.
+ */
+public class BulkWriteCompare {
+
+    private static final int DOCUMENTS = Integer.getInteger("perf.bulk.documents", 2000);
+    private static final int LATENCY_MILLIS = Integer.getInteger("perf.bulk.latency.millis", 2);
+    private static final String COLLECTION = Constants.SPRING_COLLECTION_NAME;
+
+    private final AtomicInteger upserts = new AtomicInteger();
+
+    @Test
+    public void compareSerialAndBulkUpserts() {
+        final CosmosTemplate template = new CosmosTemplate(cosmosDbFactory(), new MappingCosmosConverter(
+                new CosmosMappingContext(), ObjectMapperFactory.getObjectMapper()), Constants.PERF_DATABASE_NAME);
+        final List<PerfPerson> people = IntStream.range(0, DOCUMENTS)
+                .mapToObj(i -> new PerfPerson("id-" + i, "name-" + i))
+                .collect(Collectors.toList());
+
+        final long serialStart = System.nanoTime();
+        people.forEach(person -> template.upsert(COLLECTION, person, null));
+        final long serialNanos = System.nanoTime() - serialStart;
+
+        final long bulkStart = System.nanoTime();
+        assertThat(template.bulkUpsert(COLLECTION, people).hasFailures()).isFalse();
+        final long bulkNanos = System.nanoTime() - bulkStart;
+
+        System.out.println("[type=serial upserts, documents=" + DOCUMENTS + ", latencyMillis=" + LATENCY_MILLIS
+                + ", documentsPerSecond=" + DOCUMENTS * 1_000_000_000L / serialNanos + "];");
+        System.out.println("[type=bulk upserts, documents=" + DOCUMENTS + ", latencyMillis=" + LATENCY_MILLIS
+                + ", documentsPerSecond=" + DOCUMENTS * 1_000_000_000L / bulkNanos + "];");
+
+        assertThat(upserts.get()).isEqualTo(2 * DOCUMENTS);
+        assertThat(bulkNanos).isLessThan(serialNanos);
+    }
+
+    private CosmosDbFactory cosmosDbFactory() {
+        final CosmosDbFactory factory = mock(CosmosDbFactory.class);
+        final CosmosClient client = mock(CosmosClient.class);
+        final CosmosDatabase database = mock(CosmosDatabase.class);
+        final CosmosContainer container = mock(CosmosContainer.class);
+        final CosmosItemResponse response = mock(CosmosItemResponse.class);
+
+        when(factory.getConfig()).thenReturn(CosmosDBConfig.builder("https://localhost:8081", "key",
+                Constants.PERF_DATABASE_NAME).build());
+        when(factory.getCosmosClient()).thenReturn(client);
+        when(client.getDatabase(Constants.PERF_DATABASE_NAME)).thenReturn(database);
+        when(database.getContainer(COLLECTION)).thenReturn(container);
+        when(container.upsertItem(any(), any(CosmosItemRequestOptions.class))).thenAnswer(invocation -> {
+            upserts.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(LATENCY_MILLIS)).thenReturn(response);
+        });
+
+        return factory;
+    }
+}
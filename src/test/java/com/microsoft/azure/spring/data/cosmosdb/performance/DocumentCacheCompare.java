@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.core.DocumentCache;
+import com.microsoft.azure.spring.data.cosmosdb.core.DocumentCacheKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.LruDocumentCache;
+import com.microsoft.azure.spring.data.cosmosdb.core.OffHeapDocumentCache;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the heap occupancy and the p99 latency of hits of the heap and the off-heap document cache.
+ */
+public class DocumentCacheCompare {
+
+    private static final int DOCUMENTS = Integer.getInteger("perf.cache.documents", 50000);
+    private static final int DOCUMENT_SIZE = Integer.getInteger("perf.cache.document.size", 2048);
+    private static final int READS = Integer.getInteger("perf.cache.reads", 200000);
+    private static final Duration TIME_TO_LIVE = Duration.ofHours(1);
+
+    @Test
+    public void compareHeapAndOffHeapCache() {
+        final CacheStats heap = measure(new LruDocumentCache(DOCUMENTS));
+        final CacheStats offHeap = measure(new OffHeapDocumentCache(2L * DOCUMENTS * DOCUMENT_SIZE));
+
+        System.out.println("[type=heap cache, documents=" + DOCUMENTS + ", heapBytes=" + heap.heapBytes
+                + ", p99HitNanos=" + heap.p99Nanos + "];");
+        System.out.println("[type=off-heap cache, documents=" + DOCUMENTS + ", heapBytes=" + offHeap.heapBytes
+                + ", p99HitNanos=" + offHeap.p99Nanos + "];");
+
+        assertThat(offHeap.heapBytes).isLessThan(heap.heapBytes);
+    }
+
+    private static CacheStats measure(DocumentCache cache) {
+        final long heapBefore = usedHeap();
+
+        for (int i = 0; i < DOCUMENTS; i++) {
+            cache.put(key(i), document(i), TIME_TO_LIVE);
+        }
+
+        final long heapBytes = usedHeap() - heapBefore;
+        final Random random = new Random(0);
+        final long[] latencies = new long[READS];
+
+        for (int i = 0; i < READS; i++) {
+            final long start = System.nanoTime();
+            assertThat(cache.get(key(random.nextInt(DOCUMENTS)))).isNotNull();
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        cache.evictAll("perf");
+
+        return new CacheStats(heapBytes, latencies[(int) (READS * 0.99)]);
+    }
+
+    private static DocumentCacheKey key(int index) {
+        return new DocumentCacheKey("perf", String.valueOf(index), "[\"" + index % 100 + "\"]");
+    }
+
+    private static CosmosItemProperties document(int index) {
+        final StringBuilder value = new StringBuilder();
+
+        while (value.length() < DOCUMENT_SIZE) {
+            value.append(UUID.randomUUID());
+        }
+
+        return new CosmosItemProperties("{\"id\":\"" + index + "\",\"value\":\"" + value + "\"}");
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final class CacheStats {
+        private final long heapBytes;
+        private final long p99Nanos;
+
+        private CacheStats(long heapBytes, long p99Nanos) {
+            this.heapBytes = heapBytes;
+            this.p99Nanos = p99Nanos;
+        }
+    }
+}
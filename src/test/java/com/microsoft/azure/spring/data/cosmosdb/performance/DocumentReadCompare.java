@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the allocation and the throughput of reading a document with {@link MappingCosmosConverter} against the
+ * string round trip the converter did before, which serialized the document, parsed it into a {@link JSONObject} to
+ * rename the id, and parsed the result again with the ObjectMapper.
+ */
+public class DocumentReadCompare {
+
+    private static final int HOBBIES = Integer.getInteger("perf.read.hobbies", 200);
+    private static final int READS = Integer.getInteger("perf.read.reads", 100000);
+    private static final int WARM_UP_ROUNDS = Integer.getInteger("perf.read.warmup.rounds", 3);
+
+    @Test
+    public void compareTreeBindingAndStringRoundTrip() {
+        final MappingCosmosConverter converter = new MappingCosmosConverter(new CosmosMappingContext(),
+                ObjectMapperFactory.getObjectMapper());
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(person());
+
+        final ReadStats roundTrip = measure(() -> readByStringRoundTrip(document));
+        final ReadStats treeBinding = measure(() -> converter.read(Person.class, document));
+
+        System.out.println("[type=string round trip, documentBytes=" + document.toJson().length()
+                + ", allocatedBytesPerRead=" + roundTrip.allocatedBytesPerRead
+                + ", readsPerSecond=" + roundTrip.readsPerSecond + "];");
+        System.out.println("[type=tree binding, documentBytes=" + document.toJson().length()
+                + ", allocatedBytesPerRead=" + treeBinding.allocatedBytesPerRead
+                + ", readsPerSecond=" + treeBinding.readsPerSecond + "];");
+
+        assertThat(converter.read(Person.class, document)).isEqualTo(readByStringRoundTrip(document));
+        assertThat(treeBinding.allocatedBytesPerRead).isLessThan(roundTrip.allocatedBytesPerRead);
+    }
+
+    private static Person readByStringRoundTrip(CosmosItemProperties document) {
+        final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        final JSONObject jsonObject = new JSONObject(document.toJson());
+
+        // The id was renamed to the name of the id property, which is id for Person
+        jsonObject.remove(Constants.ID_PROPERTY_NAME);
+        jsonObject.put(Constants.ID_PROPERTY_NAME, document.id());
+
+        try {
+            return objectMapper.readValue(jsonObject.toString(), Person.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ReadStats measure(Supplier<Person> read) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            readAll(read);
+        }
+
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+
+        readAll(read);
+
+        final long elapsedNanos = System.nanoTime() - start;
+        final long allocatedBytes = allocatedBytes() - allocatedBefore;
+
+        return new ReadStats(allocatedBytes / READS, READS * 1_000_000_000L / elapsedNanos);
+    }
+
+    private static void readAll(Supplier<Person> read) {
+        for (int i = 0; i < READS; i++) {
+            if (read.get() == null) {
+                throw new IllegalStateException("document should be read");
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Person person() {
+        final List<String> hobbies = IntStream.range(0, HOBBIES).mapToObj(i -> "hobby-" + i)
+                .collect(Collectors.toList());
+        final Address address = new Address("201107", "Zixing Road", "Shanghai");
+
+        return new Person("id", "first name", "last name", hobbies, Collections.singletonList(address));
+    }
+
+    private static final class ReadStats {
+        private final long allocatedBytesPerRead;
+        private final long readsPerSecond;
+
+        private ReadStats(long allocatedBytesPerRead, long readsPerSecond) {
+            this.allocatedBytesPerRead = allocatedBytesPerRead;
+            this.readsPerSecond = readsPerSecond;
+        }
+    }
+}
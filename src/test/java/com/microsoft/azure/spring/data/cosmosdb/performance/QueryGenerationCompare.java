@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance;
+
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.AbstractQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the latency and the allocation per call of generating a sorted query of three criteria from its cached
+ * query template against generating the whole query text, which every call did before the templates were cached.
+ */
+public class QueryGenerationCompare {
+
+    private static final int CALLS = Integer.getInteger("perf.query.calls", 200000);
+    private static final int WARM_UP_ROUNDS = Integer.getInteger("perf.query.warmup.rounds", 3);
+
+    private final FindQuerySpecGenerator generator = new FindQuerySpecGenerator();
+    private final Map<?, ?> queryTemplates = getQueryTemplates();
+
+    @Test
+    public void compareCachedAndGeneratedQueryText() {
+        final GenerationStats generated = measure(() -> {
+            queryTemplates.clear();
+            return generator.generateCosmos(query());
+        });
+        final GenerationStats cached = measure(() -> generator.generateCosmos(query()));
+
+        System.out.println("[type=generated query text, nanosPerCall=" + generated.nanosPerCall
+                + ", allocatedBytesPerCall=" + generated.allocatedBytesPerCall + "];");
+        System.out.println("[type=cached query template, nanosPerCall=" + cached.nanosPerCall
+                + ", allocatedBytesPerCall=" + cached.allocatedBytesPerCall + "];");
+
+        assertThat(cached.allocatedBytesPerCall).isLessThan(generated.allocatedBytesPerCall);
+    }
+
+    private static DocumentQuery query() {
+        final Criteria firstName = Criteria.getInstance(CriteriaType.IS_EQUAL, "firstName",
+                Collections.singletonList("first name"));
+        final Criteria lastName = Criteria.getInstance(CriteriaType.IS_EQUAL, "lastName",
+                Collections.singletonList("last name"));
+        final Criteria age = Criteria.getInstance(CriteriaType.GREATER_THAN, "age", Collections.singletonList(18));
+
+        return new DocumentQuery(Criteria.getInstance(CriteriaType.AND,
+                Criteria.getInstance(CriteriaType.AND, firstName, lastName), age))
+                .with(Sort.by(Sort.Direction.DESC, "age"));
+    }
+
+    private static GenerationStats measure(Supplier<SqlQuerySpec> generation) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            generateAll(generation);
+        }
+
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+
+        generateAll(generation);
+
+        final long elapsedNanos = System.nanoTime() - start;
+        final long allocatedBytes = allocatedBytes() - allocatedBefore;
+
+        return new GenerationStats(elapsedNanos / CALLS, allocatedBytes / CALLS);
+    }
+
+    private static void generateAll(Supplier<SqlQuerySpec> generation) {
+        for (int i = 0; i < CALLS; i++) {
+            if (generation.get().parameters().size() != 3) {
+                throw new IllegalStateException("query should bind three parameters");
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The query templates are cached per query shape, clearing them makes the next call generate the query text.
+     */
+    private static Map<?, ?> getQueryTemplates() {
+        final Field field = ReflectionUtils.findField(AbstractQueryGenerator.class, "QUERY_TEMPLATES");
+
+        assertThat(field).isNotNull();
+        ReflectionUtils.makeAccessible(field);
+
+        return (Map<?, ?>) ReflectionUtils.getField(field, null);
+    }
+
+    private static final class GenerationStats {
+        private final long nanosPerCall;
+        private final long allocatedBytesPerCall;
+
+        private GenerationStats(long nanosPerCall, long allocatedBytesPerCall) {
+            this.nanosPerCall = nanosPerCall;
+            this.allocatedBytesPerCall = allocatedBytesPerCall;
+        }
+    }
+}
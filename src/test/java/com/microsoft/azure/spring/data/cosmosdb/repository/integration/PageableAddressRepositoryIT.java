@@ -8,6 +8,7 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.integration;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestUtils;
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosTemplate;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosOffsetPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.repository.TestRepositoryConfig;
@@ -143,6 +144,22 @@ public class PageableAddressRepositoryIT {
         validateLastPage(nextPage, PAGE_SIZE_1);
     }
 
+    @Test
+    public void testFindWithOffsetPageRequest() {
+        final CosmosOffsetPageRequest pageRequest = CosmosOffsetPageRequest.of(1, PAGE_SIZE_1);
+        final Page<Address> page = repository.findByStreet(TestConstants.STREET, pageRequest);
+
+        assertThat(page.getContent().size()).isEqualTo(PAGE_SIZE_1);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getPageable()).isEqualTo(pageRequest);
+        validateResultStreetMatch(page, TestConstants.STREET);
+
+        final Page<Address> firstPage = repository.findByStreet(TestConstants.STREET, page.previousPageable());
+
+        assertThat(firstPage.getContent().size()).isEqualTo(PAGE_SIZE_1);
+        assertThat(firstPage.getContent()).doesNotContainAnyElementsOf(page.getContent());
+    }
+
     private void validateResultCityMatch(Page<Address> page, String city) {
         assertThat(page.getContent().stream().filter(address -> address.getCity().equals(city))
                 .collect(Collectors.toList()).size()).isEqualTo(page.getContent().size());
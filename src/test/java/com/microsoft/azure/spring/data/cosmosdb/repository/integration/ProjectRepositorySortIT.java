@@ -225,5 +225,18 @@ public class ProjectRepositorySortIT {
         Assert.assertEquals(references, result.getContent());
         validateLastPage(result, 5);
     }
-}
 
+    @Test
+    public void testFindTopWithSort() {
+        final List<Project> result = this.repository.findTop2ByOrderByStarCountDesc();
+
+        Assert.assertEquals(Arrays.asList(PROJECT_4, PROJECT_3), result);
+    }
+
+    @Test
+    public void testFindFirstWithSort() {
+        final Project result = this.repository.findFirstByForkCountOrderByNameAsc(FORK_COUNT_3);
+
+        Assert.assertEquals(PROJECT_3, result);
+    }
+}
@@ -86,4 +86,8 @@ public interface ProjectRepository extends CosmosRepository<Project, String> {
     List<Project> findByNameIsNotNullAndHasReleased(boolean hasReleased);
 
     Page<Project> findByForkCount(Long forkCount, Pageable pageable);
+
+    List<Project> findTop2ByOrderByStarCountDesc();
+
+    Project findFirstByForkCountOrderByNameAsc(Long forkCount);
 }
@@ -128,6 +128,16 @@ public class CosmosEntityInformationUnitTest {
         assertThat(isVersioned).isFalse();
     }
 
+    @Test
+    public void testGetPartitionKeyOfId() {
+        assertThat(new CosmosEntityInformation<>(Volunteer.class).getPartitionKeyOfId(ID))
+                .isEqualTo(com.azure.data.cosmos.PartitionKey.None);
+        assertThat(new CosmosEntityInformation<>(VolunteerWithIdPartitionKey.class).getPartitionKeyOfId(ID))
+                .isEqualTo(new com.azure.data.cosmos.PartitionKey(ID));
+        assertThat(new CosmosEntityInformation<>(VolunteerWithPartitionKey.class).getPartitionKeyOfId(ID))
+                .isNull();
+    }
+
     @Document(collection = "testCollection")
     private static class Volunteer {
         String id;
@@ -180,6 +190,14 @@ public class CosmosEntityInformationUnitTest {
         }
     }
 
+    @Data
+    @Document
+    private static class VolunteerWithIdPartitionKey {
+        @PartitionKey
+        private String id;
+        private String name;
+    }
+
     @Data
     @Document(collection = "testCollection")
     private static class VersionedVolunteer {